@@ -0,0 +1,146 @@
+package com.lostsidewalk.buffy;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.lostsidewalk.buffy.discovery.FeedDiscoveryImageInfo;
+import com.lostsidewalk.buffy.post.*;
+import com.lostsidewalk.buffy.rule.Rule;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+/**
+ * The JsonCodec class is the shared JSON codec for the JSON columns of all DAOs in this module.  It is backed by a
+ * single Gson instance (which caches the TypeAdapter of each type it has seen), and each codec holds the type token
+ * of its type, so that the DAOs no longer each construct their own Gson instance and type tokens.
+ * <p>
+ * Encoding and decoding delegate to Gson#toJson and Gson#fromJson, i.e., null fields are omitted, decoding is
+ * lenient and requires the entire input to be consumed, and a null (or empty) input decodes to null.  This class does
+ * not change how values are (de)serialized; it only consolidates the per-DAO codecs in one place.
+ *
+ * @param <T> The type encoded and decoded by this codec.
+ */
+public final class JsonCodec<T> {
+
+    private static final Gson GSON = new Gson();
+
+    /**
+     * Codec for ContentObject (post title, post description, feed title, etc.).
+     */
+    public static final JsonCodec<ContentObject> CONTENT_OBJECT = of(ContentObject.class);
+
+    /**
+     * Codec for List&lt;ContentObject&gt; (post contents).
+     */
+    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
+    public static final JsonCodec<List<ContentObject>> CONTENT_OBJECT_LIST = of(new TypeToken<List<ContentObject>>() {});
+
+    /**
+     * Codec for PostMedia.
+     */
+    public static final JsonCodec<PostMedia> POST_MEDIA = of(PostMedia.class);
+
+    /**
+     * Codec for PostITunes.
+     */
+    public static final JsonCodec<PostITunes> POST_ITUNES = of(PostITunes.class);
+
+    /**
+     * Codec for List&lt;PostUrl&gt;.
+     */
+    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
+    public static final JsonCodec<List<PostUrl>> POST_URL_LIST = of(new TypeToken<List<PostUrl>>() {});
+
+    /**
+     * Codec for List&lt;PostPerson&gt; (authors, contributors).
+     */
+    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
+    public static final JsonCodec<List<PostPerson>> POST_PERSON_LIST = of(new TypeToken<List<PostPerson>>() {});
+
+    /**
+     * Codec for List&lt;PostEnclosure&gt;.
+     */
+    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
+    public static final JsonCodec<List<PostEnclosure>> POST_ENCLOSURE_LIST = of(new TypeToken<List<PostEnclosure>>() {});
+
+    /**
+     * Codec for List&lt;String&gt; (post categories, supported types, etc.).
+     */
+    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
+    public static final JsonCodec<List<String>> STRING_LIST = of(new TypeToken<List<String>>() {});
+
+    /**
+     * Codec for Map&lt;String, String&gt; (theme configuration).
+     */
+    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
+    public static final JsonCodec<Map<String, String>> STRING_MAP = of(new TypeToken<Map<String, String>>() {});
+
+    /**
+     * Codec for Set&lt;Rule&gt;.
+     */
+    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
+    public static final JsonCodec<Set<Rule>> RULE_SET = of(new TypeToken<Set<Rule>>() {});
+
+    /**
+     * Codec for FeedDiscoveryImageInfo.
+     */
+    public static final JsonCodec<FeedDiscoveryImageInfo> FEED_DISCOVERY_IMAGE_INFO = of(FeedDiscoveryImageInfo.class);
+
+    private final TypeToken<T> typeToken;
+
+    private JsonCodec(TypeToken<T> typeToken) {
+        this.typeToken = typeToken;
+    }
+
+    private static <T> JsonCodec<T> of(Class<T> type) {
+        return new JsonCodec<>(TypeToken.get(type));
+    }
+
+    private static <T> JsonCodec<T> of(TypeToken<T> typeToken) {
+        return new JsonCodec<>(typeToken);
+    }
+
+    /**
+     * Encodes the given value as JSON.
+     *
+     * @param value The value to encode.
+     * @return The JSON text of the value ("null" if the value is null).
+     */
+    public final String encode(T value) {
+        return GSON.toJson(value, typeToken.getType());
+    }
+
+    /**
+     * Decodes the given JSON text.
+     *
+     * @param json The JSON text to decode.
+     * @return The decoded value, or null if the JSON text is null or empty.
+     */
+    public final T decode(String json) {
+        if (isEmpty(json)) {
+            return null;
+        }
+        return GSON.fromJson(json, typeToken);
+    }
+
+    /**
+     * Encodes the given value as JSON, using its runtime type.  This is for values whose type is not known to this
+     * class (e.g., queue export configuration).
+     *
+     * @param value The value to encode.
+     * @return The JSON text of the value.
+     */
+    public static String toJson(Object value) {
+        return GSON.toJson(value);
+    }
+
+    @Override
+    public final String toString() {
+        return "JsonCodec{" +
+                "typeToken=" + typeToken +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+package com.lostsidewalk.buffy;
+
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * The SqlArrays class binds Java collections as single Postgres array parameters, for use with "= any(?)" in place of
+ * "in (...)" lists.  The statement text is the same for any number of elements, thus a single prepared statement (and
+ * plan) serves lists of every size, and there is no limit on the number of elements.
+ * <p>
+ * The SqlTypeValue factories are passed as ordinary JdbcTemplate arguments, e.g.:
+ * <pre>
+ *     jdbcTemplate.query("select * from staging_posts where id = any(?) and username = ?", rowMapper, bigintArray(ids), username);
+ * </pre>
+ * The set methods are for use within a PreparedStatementCreator or PreparedStatementSetter.
+ */
+public final class SqlArrays {
+
+    private SqlArrays() {
+    }
+
+    /**
+     * Creates a bigint[] parameter value.
+     *
+     * @param values The elements of the array.
+     * @return A parameter value to pass as a JdbcTemplate argument.
+     */
+    public static SqlTypeValue bigintArray(long... values) {
+        Long[] elements = new Long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            elements[i] = values[i];
+        }
+        return arrayOf("bigint", elements);
+    }
+
+    /**
+     * Creates a bigint[] parameter value.
+     *
+     * @param values The elements of the array.
+     * @return A parameter value to pass as a JdbcTemplate argument.
+     */
+    public static SqlTypeValue bigintArray(Collection<Long> values) {
+        return arrayOf("bigint", values.toArray(new Long[0]));
+    }
+
+    /**
+     * Creates a varchar[] parameter value.
+     *
+     * @param values The elements of the array.
+     * @return A parameter value to pass as a JdbcTemplate argument.
+     */
+    public static SqlTypeValue varcharArray(Collection<String> values) {
+        return arrayOf("varchar", values.toArray(new String[0]));
+    }
+
+    /**
+     * Binds a bigint[] parameter of a prepared statement.
+     *
+     * @param ps         The prepared statement.
+     * @param paramIndex The (1-based) index of the parameter.
+     * @param values     The elements of the array.
+     * @throws SQLException If the array cannot be created or bound.
+     */
+    public static void setBigintArray(PreparedStatement ps, int paramIndex, Collection<Long> values) throws SQLException {
+        ps.setArray(paramIndex, ps.getConnection().createArrayOf("bigint", values.toArray(new Long[0])));
+    }
+
+    private static SqlTypeValue arrayOf(String typeName, Object[] elements) {
+        return new AbstractSqlTypeValue() {
+            @Override
+            protected Object createTypeValue(Connection con, int sqlType, String ignored) throws SQLException {
+                return con.createArrayOf(typeName, elements);
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.lostsidewalk.buffy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * A cache of the SQL text of dynamic (partial-update) statements, shared by the DAOs of this module.  A dynamic
+ * statement is identified by a name (e.g., "StagingPostDao.updatePost"), and each variant of the statement by a
+ * bitmask of the columns (and options) that it includes; the SQL text of each variant is built once, and the same
+ * String instance is returned thereafter.  This only saves rebuilding the text: the driver caches its server-side
+ * prepared statements (per connection) by SQL text, not by String instance, so statement reuse on the server is the
+ * same whether or not the text comes from this cache, and the hit and miss counts of this cache say nothing about it.
+ * <p>
+ * The number of variants cached per statement is bounded (newsgears.data.sql-template-cache.max-variants); beyond
+ * the bound, variants are built on each call, and are counted as misses.
+ */
+@Slf4j
+@Component
+public class SqlTemplateCache {
+
+    @Value("${newsgears.data.sql-template-cache.max-variants:1024}")
+    int maxVariants;
+
+    private final ConcurrentMap<String, Templates> templatesByName = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor; initializes the object.
+     */
+    SqlTemplateCache() {
+    }
+
+    private static final class Templates {
+
+        final ConcurrentMap<Long, String> sqlByMask = new ConcurrentHashMap<>();
+
+        final AtomicLong hitCt = new AtomicLong();
+
+        final AtomicLong missCt = new AtomicLong();
+    }
+
+    /**
+     * Gets the SQL text of the given variant of a dynamic statement, building it (and caching it) on first use.
+     *
+     * @param name    The name of the dynamic statement.
+     * @param mask    The bitmask that identifies the variant.
+     * @param builder Builds the SQL text of a variant from its bitmask; must be a pure function of the bitmask.
+     * @return The SQL text of the variant.
+     */
+    @SuppressWarnings("unused")
+    public final String get(String name, long mask, LongFunction<String> builder) {
+        Templates templates = templatesByName.computeIfAbsent(name, n -> new Templates());
+        String sql = templates.sqlByMask.get(mask);
+        if (null != sql) {
+            templates.hitCt.incrementAndGet();
+            return sql;
+        }
+        templates.missCt.incrementAndGet();
+        sql = builder.apply(mask);
+        if (templates.sqlByMask.size() < maxVariants) {
+            String existing = templates.sqlByMask.putIfAbsent(mask, sql);
+            if (null != existing) {
+                sql = existing;
+            }
+        } else {
+            log.debug("SQL template cache is full, name={}, mask={}", name, mask);
+        }
+
+        return sql;
+    }
+
+    /**
+     * Gets a snapshot of the metrics of the cache, one entry per dynamic statement.
+     *
+     * @return A list of metrics.
+     */
+    @SuppressWarnings("unused")
+    public final List<SqlTemplateCacheMetrics> getMetrics() {
+        List<SqlTemplateCacheMetrics> metrics = new ArrayList<>(templatesByName.size());
+        for (Map.Entry<String, Templates> e : templatesByName.entrySet()) {
+            Templates t = e.getValue();
+            metrics.add(SqlTemplateCacheMetrics.from(e.getKey(), t.sqlByMask.size(), t.hitCt.get(), t.missCt.get()));
+        }
+
+        return metrics;
+    }
+
+    @Override
+    public final String toString() {
+        return "SqlTemplateCache{" +
+                "maxVariants=" + maxVariants +
+                ", templateCt=" + templatesByName.size() +
+                '}';
+    }
+}
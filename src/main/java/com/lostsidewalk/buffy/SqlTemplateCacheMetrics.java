@@ -0,0 +1,111 @@
+package com.lostsidewalk.buffy;
+
+/**
+ * The SqlTemplateCacheMetrics class is a snapshot of the metrics of a single dynamic statement in the SQL template
+ * cache.  The metrics count builds of the SQL text only, not server-side prepared statement reuse.
+ *
+ * @see SqlTemplateCache#getMetrics()
+ */
+public class SqlTemplateCacheMetrics {
+
+    /**
+     * The name of the dynamic statement.
+     */
+    private final String name;
+
+    /**
+     * The number of cached variants of the statement.
+     */
+    private final int variantCt;
+
+    /**
+     * The number of look-ups that were served from the cache.
+     */
+    private final long hitCt;
+
+    /**
+     * The number of look-ups that built the SQL text.
+     */
+    private final long missCt;
+
+    private SqlTemplateCacheMetrics(String name, int variantCt, long hitCt, long missCt) {
+        this.name = name;
+        this.variantCt = variantCt;
+        this.hitCt = hitCt;
+        this.missCt = missCt;
+    }
+
+    /**
+     * Creates a new SqlTemplateCacheMetrics instance.
+     *
+     * @param name      The name of the dynamic statement.
+     * @param variantCt The number of cached variants of the statement.
+     * @param hitCt     The number of look-ups that were served from the cache.
+     * @param missCt    The number of look-ups that built the SQL text.
+     * @return A new SqlTemplateCacheMetrics instance.
+     */
+    static SqlTemplateCacheMetrics from(String name, int variantCt, long hitCt, long missCt) {
+        return new SqlTemplateCacheMetrics(name, variantCt, hitCt, missCt);
+    }
+
+    /**
+     * Gets the name of the dynamic statement.
+     *
+     * @return The statement name.
+     */
+    @SuppressWarnings("unused")
+    public final String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of cached variants of the statement.
+     *
+     * @return The variant count.
+     */
+    @SuppressWarnings("unused")
+    public final int getVariantCt() {
+        return variantCt;
+    }
+
+    /**
+     * Gets the number of look-ups that were served from the cache.
+     *
+     * @return The hit count.
+     */
+    @SuppressWarnings("unused")
+    public final long getHitCt() {
+        return hitCt;
+    }
+
+    /**
+     * Gets the number of look-ups that built the SQL text.
+     *
+     * @return The miss count.
+     */
+    @SuppressWarnings("unused")
+    public final long getMissCt() {
+        return missCt;
+    }
+
+    /**
+     * Gets the fraction of look-ups that were served from the cache.
+     *
+     * @return The hit rate, or 0.0 if there were no look-ups.
+     */
+    @SuppressWarnings("unused")
+    public final double getHitRate() {
+        long lookupCt = hitCt + missCt;
+        return 0L == lookupCt ? 0.0 : (double) hitCt / lookupCt;
+    }
+
+    @Override
+    public final String toString() {
+        return "SqlTemplateCacheMetrics{" +
+                "name='" + name + '\'' +
+                ", variantCt=" + variantCt +
+                ", hitCt=" + hitCt +
+                ", missCt=" + missCt +
+                '}';
+    }
+}
@@ -1,9 +1,6 @@
 package com.lostsidewalk.buffy;
 
 
-import com.google.common.base.Joiner;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import lombok.extern.slf4j.Slf4j;
 import org.postgresql.util.PGobject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,13 +9,13 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
-import java.lang.reflect.Type;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import static com.lostsidewalk.buffy.JsonCodec.STRING_MAP;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 /**
@@ -29,14 +26,12 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 @Slf4j
 public class ThemeConfigDao {
 
-    private static final Gson GSON = new Gson();
-
-    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
-    private static final Type MAP_STRING_TYPE = new TypeToken<Map<String, String>>() {}.getType();
-
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private SqlTemplateCache sqlTemplateCache;
+
     /**
      * Default constructor; initializes the object.
      */
@@ -52,7 +47,7 @@ public class ThemeConfigDao {
             lightThemeConfig = lightThemeConfigObj.getValue();
         }
         if (isNotBlank(lightThemeConfig)) {
-            lightTheme = GSON.fromJson(lightThemeConfig, MAP_STRING_TYPE);
+            lightTheme = STRING_MAP.decode(lightThemeConfig);
         }
 
         // dark
@@ -63,7 +58,7 @@ public class ThemeConfigDao {
             darkThemeConfig = darkThemeConfigObj.getValue();
         }
         if (isNotBlank(darkThemeConfig)) {
-            darkTheme = GSON.fromJson(darkThemeConfig, MAP_STRING_TYPE);
+            darkTheme = STRING_MAP.decode(darkThemeConfig);
         }
 
         ThemeConfig t = new ThemeConfig();
@@ -94,6 +89,21 @@ public class ThemeConfigDao {
 
     private static final String UPDATE_THEME_CONFIG_BY_USER_ID_SQL_TEMPLATE = "update theme_config set %s where user_id = ?";
 
+    private static final long LIGHT_THEME_BIT = 1L;
+
+    private static final long DARK_THEME_BIT = 1L << 1;
+
+    private static String buildUpdateThemeConfigSql(long mask) {
+        Collection<String> assignments = new ArrayList<>(2);
+        if (0L != (mask & LIGHT_THEME_BIT)) {
+            assignments.add("light_theme = ?::json");
+        }
+        if (0L != (mask & DARK_THEME_BIT)) {
+            assignments.add("dark_theme = ?::json");
+        }
+        return String.format(UPDATE_THEME_CONFIG_BY_USER_ID_SQL_TEMPLATE, String.join(",", assignments));
+    }
+
     private static final String INSERT_THEME_CONFIG_BY_USER_ID = "insert into theme_config (user_id,light_theme,dark_theme) values (?,?::json,?::json)";
 
     /**
@@ -118,20 +128,23 @@ public class ThemeConfigDao {
         //noinspection IfStatementWithIdenticalBranches
         if (alreadyExists) {
             // UPDATE PATH
+            long updateMask = 0L;
+            Collection<Object> args = new ArrayList<>(3);
+            if (null != lightTheme) {
+                updateMask |= LIGHT_THEME_BIT;
+                args.add(lightTheme);
+            }
+            if (null != darkTheme) {
+                updateMask |= DARK_THEME_BIT;
+                args.add(darkTheme);
+            }
+            if (args.isEmpty()) {
+                return; // no updates required, return quietly
+            }
+            args.add(userId);
             try {
-                Collection<String> params = new ArrayList<>(2);
-                Object[] args = new Object[2];
-                if (null != lightTheme) {
-                    params.add("light_theme = ?::json");
-                    args[0] = lightTheme;
-                }
-                if (null != darkTheme) {
-                    params.add("dark_theme = ?::json");
-                    args[0] = darkTheme;
-                }
-                args[1] = userId;
-                String updateSql = String.format(UPDATE_THEME_CONFIG_BY_USER_ID_SQL_TEMPLATE, Joiner.on(",").join(params));
-                rowsUpdated = jdbcTemplate.update(updateSql, args);
+                String updateSql = sqlTemplateCache.get("ThemeConfigDao.upsertThemeConfig", updateMask, ThemeConfigDao::buildUpdateThemeConfigSql);
+                rowsUpdated = jdbcTemplate.update(updateSql, args.toArray());
             } catch (Exception e) {
                 log.error("Something horrible happened due to: {}", e.getMessage());
                 throw new DataAccessException(getClass().getSimpleName(), "updateThemeConfig", e.getMessage(), userId, lightTheme, darkTheme);
@@ -179,6 +192,7 @@ public class ThemeConfigDao {
     public final String toString() {
         return "ThemeConfigDao{" +
                 "jdbcTemplate=" + jdbcTemplate +
+                ", sqlTemplateCache=" + sqlTemplateCache +
                 ", THEME_CONFIG_ROW_MAPPER=" + THEME_CONFIG_ROW_MAPPER +
                 '}';
     }
@@ -1,7 +1,5 @@
 package com.lostsidewalk.buffy.discovery;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.lostsidewalk.buffy.DataAccessException;
 import com.lostsidewalk.buffy.DataUpdateException;
 import com.lostsidewalk.buffy.discovery.FeedDiscoveryInfo.FeedDiscoveryExceptionType;
@@ -13,7 +11,6 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Type;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.OffsetDateTime;
@@ -21,6 +18,9 @@ import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
 
+import static com.lostsidewalk.buffy.JsonCodec.CONTENT_OBJECT;
+import static com.lostsidewalk.buffy.JsonCodec.FEED_DISCOVERY_IMAGE_INFO;
+import static com.lostsidewalk.buffy.JsonCodec.STRING_LIST;
 import static java.sql.Types.INTEGER;
 import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
@@ -33,11 +33,6 @@ import static org.apache.commons.lang3.StringUtils.EMPTY;
 @Component
 public class FeedDiscoveryInfoDao {
 
-    private static final Gson GSON = new Gson();
-
-    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
-    private static final Type LIST_STRING_TYPE = new TypeToken<List<String>>() {}.getType();
-
     @Autowired
     JdbcTemplate jdbcTemplate;
 
@@ -68,14 +63,14 @@ public class FeedDiscoveryInfoDao {
         if (null != titleObj) {
             titleStr = titleObj.getValue();
         }
-        ContentObject title = GSON.fromJson(titleStr, ContentObject.class);
+        ContentObject title = CONTENT_OBJECT.decode(titleStr);
         // description
         String descriptionStr = null;
         PGobject descriptionObj = (PGobject) rs.getObject("description");
         if (null != descriptionObj) {
             descriptionStr = descriptionObj.getValue();
         }
-        ContentObject description = GSON.fromJson(descriptionStr, ContentObject.class);
+        ContentObject description = CONTENT_OBJECT.decode(descriptionStr);
         // feed_type
         String feedType = rs.getString("feed_type");
         // author
@@ -94,14 +89,14 @@ public class FeedDiscoveryInfoDao {
         if (null != imageObj) {
             imageStr = imageObj.getValue();
         }
-        FeedDiscoveryImageInfo image = GSON.fromJson(imageStr, FeedDiscoveryImageInfo.class);
+        FeedDiscoveryImageInfo image = FEED_DISCOVERY_IMAGE_INFO.decode(imageStr);
         // icon
         String iconStr = null;
         PGobject iconObj = (PGobject) rs.getObject("icon");
         if (null != iconObj) {
             iconStr = iconObj.getValue();
         }
-        FeedDiscoveryImageInfo icon = GSON.fromJson(iconStr, FeedDiscoveryImageInfo.class);
+        FeedDiscoveryImageInfo icon = FEED_DISCOVERY_IMAGE_INFO.decode(iconStr);
         // language
         String language = rs.getString("language");
         // link
@@ -116,7 +111,7 @@ public class FeedDiscoveryInfoDao {
         if (null != supportedTypesObj) {
             supportedTypesStr = supportedTypesObj.getValue();
         }
-        List<String> supportedTypes = GSON.fromJson(supportedTypesStr, LIST_STRING_TYPE);
+        List<String> supportedTypes = STRING_LIST.decode(supportedTypesStr);
         // web_master
         String webMaster = rs.getString("web_master");
         // uri
@@ -127,7 +122,7 @@ public class FeedDiscoveryInfoDao {
         if (null != categoriesObj) {
             categoriesStr = categoriesObj.getValue();
         }
-        List<String> categories = GSON.fromJson(categoriesStr, LIST_STRING_TYPE);
+        List<String> categories = STRING_LIST.decode(categoriesStr);
         // is_url_upgradeable
         boolean isUrlUpgradable = rs.getBoolean("is_url_upgradeable");
         // error type
@@ -270,24 +265,24 @@ public class FeedDiscoveryInfoDao {
                 // redirect http status message
                 ps.setString(6, feedDiscoveryInfo.getRedirectHttpStatusMessage());
                 //
-                ps.setString(7, GSON.toJson(feedDiscoveryInfo.getTitle()));
-                ps.setString(8, GSON.toJson(feedDiscoveryInfo.getDescription()));
+                ps.setString(7, CONTENT_OBJECT.encode(feedDiscoveryInfo.getTitle()));
+                ps.setString(8, CONTENT_OBJECT.encode(feedDiscoveryInfo.getDescription()));
                 ps.setString(9, feedDiscoveryInfo.getFeedType());
                 ps.setString(10, feedDiscoveryInfo.getAuthor());
                 ps.setString(11, feedDiscoveryInfo.getCopyright());
                 ps.setString(12, feedDiscoveryInfo.getDocs());
                 ps.setString(13, feedDiscoveryInfo.getEncoding());
                 ps.setString(14, feedDiscoveryInfo.getGenerator());
-                ps.setString(15, GSON.toJson(feedDiscoveryInfo.getImage()));
-                ps.setString(16, GSON.toJson(feedDiscoveryInfo.getIcon()));
+                ps.setString(15, FEED_DISCOVERY_IMAGE_INFO.encode(feedDiscoveryInfo.getImage()));
+                ps.setString(16, FEED_DISCOVERY_IMAGE_INFO.encode(feedDiscoveryInfo.getIcon()));
                 ps.setString(17, feedDiscoveryInfo.getLanguage());
                 ps.setString(18, feedDiscoveryInfo.getLink());
                 ps.setString(19, feedDiscoveryInfo.getManagingEditor());
                 ps.setTimestamp(20, toTimestamp(feedDiscoveryInfo.getPublishedDate()));
-                ps.setString(21, GSON.toJson(feedDiscoveryInfo.getSupportedTypes()));
+                ps.setString(21, STRING_LIST.encode(feedDiscoveryInfo.getSupportedTypes()));
                 ps.setString(22, feedDiscoveryInfo.getWebMaster());
                 ps.setString(23, feedDiscoveryInfo.getUri());
-                ps.setString(24, GSON.toJson(feedDiscoveryInfo.getCategories()));
+                ps.setString(24, STRING_LIST.encode(feedDiscoveryInfo.getCategories()));
                 ps.setBoolean(25, feedDiscoveryInfo.isUrlUpgradable());
                 ps.setString(26, ofNullable(feedDiscoveryInfo.getErrorType()).map(Enum::name).orElse(null));
                 ps.setString(27, feedDiscoveryInfo.getErrorDetail());
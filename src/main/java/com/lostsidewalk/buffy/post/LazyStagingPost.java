@@ -0,0 +1,719 @@
+package com.lostsidewalk.buffy.post;
+
+import com.lostsidewalk.buffy.post.StagingPost.PostPubStatus;
+import com.lostsidewalk.buffy.post.StagingPost.PostReadStatus;
+
+import java.util.Date;
+import java.util.List;
+
+import static com.lostsidewalk.buffy.JsonCodec.CONTENT_OBJECT;
+import static com.lostsidewalk.buffy.JsonCodec.CONTENT_OBJECT_LIST;
+import static com.lostsidewalk.buffy.JsonCodec.POST_ENCLOSURE_LIST;
+import static com.lostsidewalk.buffy.JsonCodec.POST_ITUNES;
+import static com.lostsidewalk.buffy.JsonCodec.POST_MEDIA;
+import static com.lostsidewalk.buffy.JsonCodec.POST_PERSON_LIST;
+import static com.lostsidewalk.buffy.JsonCodec.POST_URL_LIST;
+import static com.lostsidewalk.buffy.JsonCodec.STRING_LIST;
+
+/**
+ * The LazyStagingPost class is a staging post whose JSON attributes are held as raw JSON text, and decoded only on
+ * first access.  Scalar attributes (IDs, URLs, timestamps, statuses) are mapped eagerly, as they are cheap.
+ * <p>
+ * Callers may either use the typed getters (e.g., getPostTitle), which decode and memoize the attribute on first
+ * access, or the raw getters (e.g., getPostTitleJson), which return the JSON text as stored, for callers that
+ * decode (or pass through) the JSON themselves.  Use toStagingPost to obtain a fully decoded StagingPost.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @see StagingPostDao#findByUserLazy(String)
+ */
+public class LazyStagingPost {
+
+    //
+    // scalar attributes
+    //
+
+    private final Long id;
+
+    private final String importerId;
+
+    private final Long queueId;
+
+    private final String importerDesc;
+
+    private final Long subscriptionId;
+
+    private final String postUrl;
+
+    private final String postImgUrl;
+
+    private final String postImgTransportIdent;
+
+    private final Date importTimestamp;
+
+    private final String postHash;
+
+    private final String username;
+
+    private final String postComment;
+
+    private final String postRights;
+
+    private final Date publishTimestamp;
+
+    private final Date expirationTimestamp;
+
+    private final Date lastUpdatedTimestamp;
+
+    private final Date created;
+
+    private final Date lastModified;
+
+    private final PostReadStatus postReadStatus;
+
+    private final PostPubStatus postPubStatus;
+
+    private final boolean isPublished;
+
+    private final boolean isArchived;
+
+    //
+    // raw JSON attributes
+    //
+
+    private final String postTitleJson;
+
+    private final String postDescJson;
+
+    private final String postContentsJson;
+
+    private final String postMediaJson;
+
+    private final String postITunesJson;
+
+    private final String postUrlsJson;
+
+    private final String contributorsJson;
+
+    private final String authorsJson;
+
+    private final String postCategoriesJson;
+
+    private final String enclosuresJson;
+
+    //
+    // decoded JSON attributes (memoized on first access)
+    //
+
+    private ContentObject postTitle;
+
+    private ContentObject postDesc;
+
+    private List<ContentObject> postContents;
+
+    private PostMedia postMedia;
+
+    private PostITunes postITunes;
+
+    private List<PostUrl> postUrls;
+
+    private List<PostPerson> contributors;
+
+    private List<PostPerson> authors;
+
+    private List<String> postCategories;
+
+    private List<PostEnclosure> enclosures;
+
+    @SuppressWarnings("ConstructorWithTooManyParameters")
+    private LazyStagingPost(Long id, String importerId, Long queueId, String importerDesc, Long subscriptionId,
+                            String postUrl, String postImgUrl, String postImgTransportIdent, Date importTimestamp,
+                            String postHash, String username, String postComment, String postRights,
+                            Date publishTimestamp, Date expirationTimestamp, Date lastUpdatedTimestamp,
+                            Date created, Date lastModified, PostReadStatus postReadStatus,
+                            PostPubStatus postPubStatus, boolean isPublished, boolean isArchived,
+                            String postTitleJson, String postDescJson, String postContentsJson,
+                            String postMediaJson, String postITunesJson, String postUrlsJson,
+                            String contributorsJson, String authorsJson, String postCategoriesJson,
+                            String enclosuresJson) {
+        this.id = id;
+        this.importerId = importerId;
+        this.queueId = queueId;
+        this.importerDesc = importerDesc;
+        this.subscriptionId = subscriptionId;
+        this.postUrl = postUrl;
+        this.postImgUrl = postImgUrl;
+        this.postImgTransportIdent = postImgTransportIdent;
+        this.importTimestamp = importTimestamp;
+        this.postHash = postHash;
+        this.username = username;
+        this.postComment = postComment;
+        this.postRights = postRights;
+        this.publishTimestamp = publishTimestamp;
+        this.expirationTimestamp = expirationTimestamp;
+        this.lastUpdatedTimestamp = lastUpdatedTimestamp;
+        this.created = created;
+        this.lastModified = lastModified;
+        this.postReadStatus = postReadStatus;
+        this.postPubStatus = postPubStatus;
+        this.isPublished = isPublished;
+        this.isArchived = isArchived;
+        this.postTitleJson = postTitleJson;
+        this.postDescJson = postDescJson;
+        this.postContentsJson = postContentsJson;
+        this.postMediaJson = postMediaJson;
+        this.postITunesJson = postITunesJson;
+        this.postUrlsJson = postUrlsJson;
+        this.contributorsJson = contributorsJson;
+        this.authorsJson = authorsJson;
+        this.postCategoriesJson = postCategoriesJson;
+        this.enclosuresJson = enclosuresJson;
+    }
+
+    /**
+     * Creates a new LazyStagingPost instance.  Scalar attributes are supplied in the order of the fields of this
+     * class; JSON attributes are supplied as raw JSON text (or null).
+     *
+     * @return A new LazyStagingPost instance.
+     */
+    @SuppressWarnings("MethodWithTooManyParameters")
+    static LazyStagingPost from(Long id, String importerId, Long queueId, String importerDesc, Long subscriptionId,
+                                String postUrl, String postImgUrl, String postImgTransportIdent, Date importTimestamp,
+                                String postHash, String username, String postComment, String postRights,
+                                Date publishTimestamp, Date expirationTimestamp, Date lastUpdatedTimestamp,
+                                Date created, Date lastModified, PostReadStatus postReadStatus,
+                                PostPubStatus postPubStatus, boolean isPublished, boolean isArchived,
+                                String postTitleJson, String postDescJson, String postContentsJson,
+                                String postMediaJson, String postITunesJson, String postUrlsJson,
+                                String contributorsJson, String authorsJson, String postCategoriesJson,
+                                String enclosuresJson) {
+        return new LazyStagingPost(id, importerId, queueId, importerDesc, subscriptionId, postUrl, postImgUrl,
+                postImgTransportIdent, importTimestamp, postHash, username, postComment, postRights, publishTimestamp,
+                expirationTimestamp, lastUpdatedTimestamp, created, lastModified, postReadStatus, postPubStatus,
+                isPublished, isArchived, postTitleJson, postDescJson, postContentsJson, postMediaJson, postITunesJson,
+                postUrlsJson, contributorsJson, authorsJson, postCategoriesJson, enclosuresJson);
+    }
+
+    /**
+     * Decodes all JSON attributes, and returns the equivalent StagingPost.
+     *
+     * @return A fully decoded StagingPost.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPost toStagingPost() {
+        StagingPost p = StagingPost.from(
+                importerId,
+                queueId,
+                importerDesc,
+                subscriptionId,
+                getPostTitle(),
+                getPostDesc(),
+                getPostContents(),
+                getPostMedia(),
+                getPostITunes(),
+                postUrl,
+                getPostUrls(),
+                postImgUrl,
+                postImgTransportIdent,
+                importTimestamp,
+                postHash,
+                username,
+                postComment,
+                postRights,
+                getContributors(),
+                getAuthors(),
+                getPostCategories(),
+                publishTimestamp,
+                expirationTimestamp,
+                getEnclosures(),
+                lastUpdatedTimestamp,
+                created,
+                lastModified
+        );
+        p.setId(id);
+        p.setPostReadStatus(postReadStatus);
+        p.setPostPubStatus(postPubStatus);
+        p.setPublished(isPublished);
+        p.setArchived(isArchived);
+
+        return p;
+    }
+
+    //
+    // decoded (typed) getters
+    //
+
+    /**
+     * Gets the title of the post, decoding it on first access.
+     *
+     * @return The post title.
+     */
+    @SuppressWarnings("unused")
+    public final ContentObject getPostTitle() {
+        if (null == postTitle && null != postTitleJson) {
+            postTitle = CONTENT_OBJECT.decode(postTitleJson);
+        }
+        return postTitle;
+    }
+
+    /**
+     * Gets the description of the post, decoding it on first access.
+     *
+     * @return The post description.
+     */
+    @SuppressWarnings("unused")
+    public final ContentObject getPostDesc() {
+        if (null == postDesc && null != postDescJson) {
+            postDesc = CONTENT_OBJECT.decode(postDescJson);
+        }
+        return postDesc;
+    }
+
+    /**
+     * Gets the contents of the post, decoding them on first access.
+     *
+     * @return The post contents.
+     */
+    @SuppressWarnings("unused")
+    public final List<ContentObject> getPostContents() {
+        if (null == postContents && null != postContentsJson) {
+            postContents = CONTENT_OBJECT_LIST.decode(postContentsJson);
+        }
+        return postContents;
+    }
+
+    /**
+     * Gets the media of the post, decoding it on first access.
+     *
+     * @return The post media.
+     */
+    @SuppressWarnings("unused")
+    public final PostMedia getPostMedia() {
+        if (null == postMedia && null != postMediaJson) {
+            postMedia = POST_MEDIA.decode(postMediaJson);
+        }
+        return postMedia;
+    }
+
+    /**
+     * Gets the iTunes attributes of the post, decoding them on first access.
+     *
+     * @return The post iTunes attributes.
+     */
+    @SuppressWarnings("unused")
+    public final PostITunes getPostITunes() {
+        if (null == postITunes && null != postITunesJson) {
+            postITunes = POST_ITUNES.decode(postITunesJson);
+        }
+        return postITunes;
+    }
+
+    /**
+     * Gets the URLs of the post, decoding them on first access.
+     *
+     * @return The post URLs.
+     */
+    @SuppressWarnings("unused")
+    public final List<PostUrl> getPostUrls() {
+        if (null == postUrls && null != postUrlsJson) {
+            postUrls = POST_URL_LIST.decode(postUrlsJson);
+        }
+        return postUrls;
+    }
+
+    /**
+     * Gets the contributors of the post, decoding them on first access.
+     *
+     * @return The post contributors.
+     */
+    @SuppressWarnings("unused")
+    public final List<PostPerson> getContributors() {
+        if (null == contributors && null != contributorsJson) {
+            contributors = POST_PERSON_LIST.decode(contributorsJson);
+        }
+        return contributors;
+    }
+
+    /**
+     * Gets the authors of the post, decoding them on first access.
+     *
+     * @return The post authors.
+     */
+    @SuppressWarnings("unused")
+    public final List<PostPerson> getAuthors() {
+        if (null == authors && null != authorsJson) {
+            authors = POST_PERSON_LIST.decode(authorsJson);
+        }
+        return authors;
+    }
+
+    /**
+     * Gets the categories of the post, decoding them on first access.
+     *
+     * @return The post categories.
+     */
+    @SuppressWarnings("unused")
+    public final List<String> getPostCategories() {
+        if (null == postCategories && null != postCategoriesJson) {
+            postCategories = STRING_LIST.decode(postCategoriesJson);
+        }
+        return postCategories;
+    }
+
+    /**
+     * Gets the enclosures of the post, decoding them on first access.
+     *
+     * @return The post enclosures.
+     */
+    @SuppressWarnings("unused")
+    public final List<PostEnclosure> getEnclosures() {
+        if (null == enclosures && null != enclosuresJson) {
+            enclosures = POST_ENCLOSURE_LIST.decode(enclosuresJson);
+        }
+        return enclosures;
+    }
+
+    //
+    // raw JSON getters
+    //
+
+    /**
+     * Gets the raw JSON text of the post title.
+     *
+     * @return The post title JSON, or null.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostTitleJson() {
+        return postTitleJson;
+    }
+
+    /**
+     * Gets the raw JSON text of the post description.
+     *
+     * @return The post description JSON, or null.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostDescJson() {
+        return postDescJson;
+    }
+
+    /**
+     * Gets the raw JSON text of the post contents.
+     *
+     * @return The post contents JSON, or null.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostContentsJson() {
+        return postContentsJson;
+    }
+
+    /**
+     * Gets the raw JSON text of the post media.
+     *
+     * @return The post media JSON, or null.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostMediaJson() {
+        return postMediaJson;
+    }
+
+    /**
+     * Gets the raw JSON text of the post iTunes attributes.
+     *
+     * @return The post iTunes JSON, or null.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostITunesJson() {
+        return postITunesJson;
+    }
+
+    /**
+     * Gets the raw JSON text of the post URLs.
+     *
+     * @return The post URLs JSON, or null.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostUrlsJson() {
+        return postUrlsJson;
+    }
+
+    /**
+     * Gets the raw JSON text of the post contributors.
+     *
+     * @return The post contributors JSON, or null.
+     */
+    @SuppressWarnings("unused")
+    public final String getContributorsJson() {
+        return contributorsJson;
+    }
+
+    /**
+     * Gets the raw JSON text of the post authors.
+     *
+     * @return The post authors JSON, or null.
+     */
+    @SuppressWarnings("unused")
+    public final String getAuthorsJson() {
+        return authorsJson;
+    }
+
+    /**
+     * Gets the raw JSON text of the post categories.
+     *
+     * @return The post categories JSON, or null.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostCategoriesJson() {
+        return postCategoriesJson;
+    }
+
+    /**
+     * Gets the raw JSON text of the post enclosures.
+     *
+     * @return The post enclosures JSON, or null.
+     */
+    @SuppressWarnings("unused")
+    public final String getEnclosuresJson() {
+        return enclosuresJson;
+    }
+
+    //
+    // scalar getters
+    //
+
+    /**
+     * Gets the ID of the post.
+     *
+     * @return The post ID.
+     */
+    @SuppressWarnings("unused")
+    public final Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the ID of the importer of the post.
+     *
+     * @return The importer ID.
+     */
+    @SuppressWarnings("unused")
+    public final String getImporterId() {
+        return importerId;
+    }
+
+    /**
+     * Gets the ID of the queue that contains the post.
+     *
+     * @return The queue ID.
+     */
+    @SuppressWarnings("unused")
+    public final Long getQueueId() {
+        return queueId;
+    }
+
+    /**
+     * Gets the description of the importer of the post.
+     *
+     * @return The importer description.
+     */
+    @SuppressWarnings("unused")
+    public final String getImporterDesc() {
+        return importerDesc;
+    }
+
+    /**
+     * Gets the ID of the subscription that imported the post.
+     *
+     * @return The subscription ID.
+     */
+    @SuppressWarnings("unused")
+    public final Long getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    /**
+     * Gets the URL of the post.
+     *
+     * @return The post URL.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostUrl() {
+        return postUrl;
+    }
+
+    /**
+     * Gets the image URL of the post.
+     *
+     * @return The post image URL.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostImgUrl() {
+        return postImgUrl;
+    }
+
+    /**
+     * Gets the transport identifier of the image of the post.
+     *
+     * @return The post image transport identifier.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostImgTransportIdent() {
+        return postImgTransportIdent;
+    }
+
+    /**
+     * Gets the timestamp at which the post was imported.
+     *
+     * @return The import timestamp.
+     */
+    @SuppressWarnings("unused")
+    public final Date getImportTimestamp() {
+        return importTimestamp;
+    }
+
+    /**
+     * Gets the hash of the post.
+     *
+     * @return The post hash.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostHash() {
+        return postHash;
+    }
+
+    /**
+     * Gets the username of the owner of the post.
+     *
+     * @return The username.
+     */
+    @SuppressWarnings("unused")
+    public final String getUsername() {
+        return username;
+    }
+
+    /**
+     * Gets the comment of the post.
+     *
+     * @return The post comment.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostComment() {
+        return postComment;
+    }
+
+    /**
+     * Gets the rights of the post.
+     *
+     * @return The post rights.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostRights() {
+        return postRights;
+    }
+
+    /**
+     * Gets the timestamp at which the post was published (upstream).
+     *
+     * @return The publish timestamp.
+     */
+    @SuppressWarnings("unused")
+    public final Date getPublishTimestamp() {
+        return publishTimestamp;
+    }
+
+    /**
+     * Gets the timestamp at which the post expires.
+     *
+     * @return The expiration timestamp.
+     */
+    @SuppressWarnings("unused")
+    public final Date getExpirationTimestamp() {
+        return expirationTimestamp;
+    }
+
+    /**
+     * Gets the timestamp at which the post was last updated (upstream).
+     *
+     * @return The last-updated timestamp.
+     */
+    @SuppressWarnings("unused")
+    public final Date getLastUpdatedTimestamp() {
+        return lastUpdatedTimestamp;
+    }
+
+    /**
+     * Gets the timestamp at which the post was created.
+     *
+     * @return The created timestamp.
+     */
+    @SuppressWarnings("unused")
+    public final Date getCreated() {
+        return created;
+    }
+
+    /**
+     * Gets the timestamp at which the post was last modified.
+     *
+     * @return The last-modified timestamp.
+     */
+    @SuppressWarnings("unused")
+    public final Date getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Gets the read status of the post.
+     *
+     * @return The post read status.
+     */
+    @SuppressWarnings("unused")
+    public final PostReadStatus getPostReadStatus() {
+        return postReadStatus;
+    }
+
+    /**
+     * Gets the publication status of the post.
+     *
+     * @return The post publication status.
+     */
+    @SuppressWarnings("unused")
+    public final PostPubStatus getPostPubStatus() {
+        return postPubStatus;
+    }
+
+    /**
+     * Indicates whether the post is published.
+     *
+     * @return True if the post is published.
+     */
+    @SuppressWarnings("unused")
+    public final boolean isPublished() {
+        return isPublished;
+    }
+
+    /**
+     * Indicates whether the post is archived.
+     *
+     * @return True if the post is archived.
+     */
+    @SuppressWarnings("unused")
+    public final boolean isArchived() {
+        return isArchived;
+    }
+
+    @Override
+    public final String toString() {
+        return "LazyStagingPost{" +
+                "id=" + id +
+                ", queueId=" + queueId +
+                ", subscriptionId=" + subscriptionId +
+                ", postHash='" + postHash + '\'' +
+                ", postUrl='" + postUrl + '\'' +
+                ", importTimestamp=" + importTimestamp +
+                ", postReadStatus=" + postReadStatus +
+                ", postPubStatus=" + postPubStatus +
+                ", isPublished=" + isPublished +
+                ", isArchived=" + isArchived +
+                '}';
+    }
+}
@@ -0,0 +1,102 @@
+package com.lostsidewalk.buffy.post;
+
+/**
+ * The StagingPostBulkLoadResult class describes the outcome of a COPY-based bulk load of staging posts.
+ *
+ * @see StagingPostDao#bulkLoad(Iterable)
+ */
+public class StagingPostBulkLoadResult {
+
+    /**
+     * The number of rows streamed into the load table.
+     */
+    private final long copiedCt;
+
+    /**
+     * The number of rows merged into the staging_posts table.
+     */
+    private final long mergedCt;
+
+    /**
+     * The elapsed time of the entire operation, in milliseconds.
+     */
+    private final long elapsedMs;
+
+    private StagingPostBulkLoadResult(long copiedCt, long mergedCt, long elapsedMs) {
+        this.copiedCt = copiedCt;
+        this.mergedCt = mergedCt;
+        this.elapsedMs = elapsedMs;
+    }
+
+    /**
+     * Creates a new StagingPostBulkLoadResult instance.
+     *
+     * @param copiedCt  The number of rows streamed into the load table.
+     * @param mergedCt  The number of rows merged into the staging_posts table.
+     * @param elapsedMs The elapsed time of the entire operation, in milliseconds.
+     * @return A new StagingPostBulkLoadResult instance.
+     */
+    static StagingPostBulkLoadResult from(long copiedCt, long mergedCt, long elapsedMs) {
+        return new StagingPostBulkLoadResult(copiedCt, mergedCt, elapsedMs);
+    }
+
+    /**
+     * Gets the number of rows streamed into the load table.
+     *
+     * @return The number of rows copied.
+     */
+    @SuppressWarnings("unused")
+    public final long getCopiedCt() {
+        return copiedCt;
+    }
+
+    /**
+     * Gets the number of rows merged into the staging_posts table.
+     *
+     * @return The number of rows merged.
+     */
+    @SuppressWarnings("unused")
+    public final long getMergedCt() {
+        return mergedCt;
+    }
+
+    /**
+     * Gets the number of rows that were skipped because a post with the same hash already exists in the queue.
+     *
+     * @return The number of rows skipped.
+     */
+    @SuppressWarnings("unused")
+    public final long getSkippedCt() {
+        return copiedCt - mergedCt;
+    }
+
+    /**
+     * Gets the elapsed time of the entire operation.
+     *
+     * @return The elapsed time, in milliseconds.
+     */
+    @SuppressWarnings("unused")
+    public final long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * Gets the throughput of the operation, i.e., the number of rows copied per second of elapsed time.
+     *
+     * @return The number of rows copied per second.
+     */
+    @SuppressWarnings("unused")
+    public final double getRowsPerSecond() {
+        return 0L < elapsedMs ? (copiedCt * 1000.0) / elapsedMs : copiedCt;
+    }
+
+    @Override
+    public final String toString() {
+        return "StagingPostBulkLoadResult{" +
+                "copiedCt=" + copiedCt +
+                ", mergedCt=" + mergedCt +
+                ", elapsedMs=" + elapsedMs +
+                ", rowsPerSecond=" + getRowsPerSecond() +
+                '}';
+    }
+}
@@ -0,0 +1,107 @@
+package com.lostsidewalk.buffy.post;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The StagingPostChangeSet class is a single page of the staging post change feed of a user, i.e., the posts that
+ * were created or updated, and the posts that were deleted, after a given cursor.  Changes are ordered by
+ * (writing transaction ID, id), ascending; the cursor of the next page is an opaque token that encodes the
+ * (writing transaction ID, id) of the last change on this page.
+ *
+ * @see StagingPostDao#findChangedSince(String, String, int)
+ */
+public class StagingPostChangeSet {
+
+    /**
+     * The staging posts that were created or updated.
+     */
+    private final List<StagingPost> changed;
+
+    /**
+     * The tombstones of the staging posts that were deleted.
+     */
+    private final List<StagingPostTombstone> deleted;
+
+    /**
+     * The cursor from which to resume the change feed.
+     */
+    private final String nextCursor;
+
+    /**
+     * Indicates whether there are more changes after this page.
+     */
+    private final boolean hasMore;
+
+    private StagingPostChangeSet(List<StagingPost> changed, List<StagingPostTombstone> deleted, String nextCursor, boolean hasMore) {
+        this.changed = unmodifiableList(changed);
+        this.deleted = unmodifiableList(deleted);
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Creates a new StagingPostChangeSet instance.
+     *
+     * @param changed    The staging posts that were created or updated.
+     * @param deleted    The tombstones of the staging posts that were deleted.
+     * @param nextCursor The cursor from which to resume the change feed.
+     * @param hasMore    True if there are more changes after this page.
+     * @return A new StagingPostChangeSet instance.
+     */
+    static StagingPostChangeSet from(List<StagingPost> changed, List<StagingPostTombstone> deleted, String nextCursor, boolean hasMore) {
+        return new StagingPostChangeSet(changed, deleted, nextCursor, hasMore);
+    }
+
+    /**
+     * Gets the staging posts that were created or updated.
+     *
+     * @return An unmodifiable list of staging posts, in change order.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPost> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Gets the tombstones of the staging posts that were deleted.
+     *
+     * @return An unmodifiable list of tombstones, in change order.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPostTombstone> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Gets the cursor from which to resume the change feed.  If there are no more changes, this is the cursor that
+     * was passed in (or null), so that clients may store it and poll with it later.
+     *
+     * @return The cursor to pass to the next call.
+     */
+    @SuppressWarnings("unused")
+    public final String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Indicates whether there are more changes after this page.
+     *
+     * @return True if there are more changes.
+     */
+    @SuppressWarnings("unused")
+    public final boolean hasMore() {
+        return hasMore;
+    }
+
+    @Override
+    public final String toString() {
+        return "StagingPostChangeSet{" +
+                "changedCt=" + changed.size() +
+                ", deletedCt=" + deleted.size() +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
@@ -0,0 +1,182 @@
+package com.lostsidewalk.buffy.post;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The StagingPostChunkedJobResult class describes the outcome of a single run of a chunked staging post maintenance
+ * job (archival or purge).  Each chunk processes up to a fixed number of rows in its own transaction; a run stops
+ * when no rows remain, when its time budget is exhausted, or when a chunk fails.  In the latter two cases, the
+ * checkpoint of the result is passed to the next run, in order to resume where this one stopped.
+ *
+ * @see StagingPostDao#purgeArchivedPosts(int, long, Long)
+ */
+public class StagingPostChunkedJobResult {
+
+    /**
+     * The name of the job.
+     */
+    private final String jobName;
+
+    /**
+     * The number of rows processed by each chunk, in order.
+     */
+    private final List<Integer> chunkRowCts;
+
+    /**
+     * The elapsed time of each chunk, in milliseconds, in order.
+     */
+    private final List<Long> chunkElapsedMs;
+
+    /**
+     * Indicates whether the job ran to completion, i.e., no rows remain.
+     */
+    private final boolean completed;
+
+    /**
+     * The ID of the last row processed, or null if the job ran to completion.
+     */
+    private final Long checkpoint;
+
+    /**
+     * The error message of the chunk that failed, or null if no chunk failed.
+     */
+    private final String failure;
+
+    private StagingPostChunkedJobResult(String jobName, List<Integer> chunkRowCts, List<Long> chunkElapsedMs, boolean completed, Long checkpoint, String failure) {
+        this.jobName = jobName;
+        this.chunkRowCts = unmodifiableList(chunkRowCts);
+        this.chunkElapsedMs = unmodifiableList(chunkElapsedMs);
+        this.completed = completed;
+        this.checkpoint = checkpoint;
+        this.failure = failure;
+    }
+
+    /**
+     * Creates a new StagingPostChunkedJobResult instance.
+     *
+     * @param jobName        The name of the job.
+     * @param chunkRowCts    The number of rows processed by each chunk.
+     * @param chunkElapsedMs The elapsed time of each chunk, in milliseconds.
+     * @param completed      True if the job ran to completion.
+     * @param checkpoint     The ID of the last row processed, or null if the job ran to completion.
+     * @param failure        The error message of the chunk that failed, or null if no chunk failed.
+     * @return A new StagingPostChunkedJobResult instance.
+     */
+    static StagingPostChunkedJobResult from(String jobName, List<Integer> chunkRowCts, List<Long> chunkElapsedMs, boolean completed, Long checkpoint, String failure) {
+        return new StagingPostChunkedJobResult(jobName, chunkRowCts, chunkElapsedMs, completed, checkpoint, failure);
+    }
+
+    /**
+     * Gets the name of the job.
+     *
+     * @return The job name.
+     */
+    @SuppressWarnings("unused")
+    public final String getJobName() {
+        return jobName;
+    }
+
+    /**
+     * Gets the number of rows processed by each chunk, in order.
+     *
+     * @return An unmodifiable list of row counts.
+     */
+    @SuppressWarnings("unused")
+    public final List<Integer> getChunkRowCts() {
+        return chunkRowCts;
+    }
+
+    /**
+     * Gets the elapsed time of each chunk, in order.
+     *
+     * @return An unmodifiable list of elapsed times, in milliseconds.
+     */
+    @SuppressWarnings("unused")
+    public final List<Long> getChunkElapsedMs() {
+        return chunkElapsedMs;
+    }
+
+    /**
+     * Gets the number of chunks processed.
+     *
+     * @return The chunk count.
+     */
+    @SuppressWarnings("unused")
+    public final int getChunkCt() {
+        return chunkRowCts.size();
+    }
+
+    /**
+     * Gets the total number of rows processed.
+     *
+     * @return The total row count.
+     */
+    @SuppressWarnings("unused")
+    public final long getTotalRowCt() {
+        return chunkRowCts.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    /**
+     * Gets the total elapsed time of all chunks.
+     *
+     * @return The total elapsed time, in milliseconds.
+     */
+    @SuppressWarnings("unused")
+    public final long getElapsedMs() {
+        return chunkElapsedMs.stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Indicates whether the job ran to completion.
+     *
+     * @return True if no rows remain; false if the job stopped on its time budget.
+     */
+    @SuppressWarnings("unused")
+    public final boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Gets the checkpoint from which to resume the job.
+     *
+     * @return The ID of the last row processed, or null if the job ran to completion.
+     */
+    @SuppressWarnings("unused")
+    public final Long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Indicates whether the run stopped because a chunk failed.
+     *
+     * @return True if a chunk failed.
+     */
+    @SuppressWarnings("unused")
+    public final boolean isFailed() {
+        return null != failure;
+    }
+
+    /**
+     * Gets the error message of the chunk that failed.
+     *
+     * @return The error message, or null if no chunk failed.
+     */
+    @SuppressWarnings("unused")
+    public final String getFailure() {
+        return failure;
+    }
+
+    @Override
+    public final String toString() {
+        return "StagingPostChunkedJobResult{" +
+                "jobName='" + jobName + '\'' +
+                ", chunkRowCts=" + chunkRowCts +
+                ", chunkElapsedMs=" + chunkElapsedMs +
+                ", completed=" + completed +
+                ", checkpoint=" + checkpoint +
+                ", failure='" + failure + '\'' +
+                '}';
+    }
+}
@@ -1,41 +1,74 @@
 package com.lostsidewalk.buffy.post;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import com.lostsidewalk.buffy.DataAccessException;
 import com.lostsidewalk.buffy.DataConflictException;
 import com.lostsidewalk.buffy.DataUpdateException;
+import com.lostsidewalk.buffy.SqlTemplateCache;
 import com.lostsidewalk.buffy.post.StagingPost.PostPubStatus;
 import com.lostsidewalk.buffy.post.StagingPost.PostReadStatus;
 import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.postgresql.util.PGobject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
-
-import java.lang.reflect.Type;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
-
+import java.util.stream.Stream;
+
+import static com.lostsidewalk.buffy.JsonCodec.CONTENT_OBJECT;
+import static com.lostsidewalk.buffy.JsonCodec.CONTENT_OBJECT_LIST;
+import static com.lostsidewalk.buffy.JsonCodec.POST_ENCLOSURE_LIST;
+import static com.lostsidewalk.buffy.JsonCodec.POST_ITUNES;
+import static com.lostsidewalk.buffy.JsonCodec.POST_MEDIA;
+import static com.lostsidewalk.buffy.JsonCodec.POST_PERSON_LIST;
+import static com.lostsidewalk.buffy.JsonCodec.POST_URL_LIST;
+import static com.lostsidewalk.buffy.JsonCodec.STRING_LIST;
+import static com.lostsidewalk.buffy.SqlArrays.bigintArray;
+import static com.lostsidewalk.buffy.SqlArrays.setBigintArray;
+import static com.lostsidewalk.buffy.SqlArrays.varcharArray;
+import static com.google.common.collect.Lists.partition;
 import static com.lostsidewalk.buffy.post.StagingPost.computeThumbnailHash;
 import static java.lang.Integer.toUnsignedLong;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.sql.Types.INTEGER;
-import static java.util.Arrays.stream;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.joining;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.toList;
+import static org.apache.commons.collections4.CollectionUtils.isEmpty;
+import static org.apache.commons.collections4.CollectionUtils.size;
 import static org.apache.commons.lang3.ObjectUtils.isNotEmpty;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -48,23 +81,6 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 @Component
 public class StagingPostDao {
 
-    private static final Gson GSON = new Gson();
-
-    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
-    private static final Type LIST_POST_URL_TYPE = new TypeToken<List<PostUrl>>() {}.getType();
-
-    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
-    private static final Type LIST_POST_PERSON_TYPE = new TypeToken<List<PostPerson>>() {}.getType();
-
-    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
-    private static final Type LIST_POST_ENCLOSURE_TYPE = new TypeToken<List<PostEnclosure>>() {}.getType();
-
-    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
-    private static final Type LIST_CONTENT_OBJECT_TYPE = new TypeToken<List<ContentObject>>() {}.getType();
-
-    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
-    private static final Type LIST_STRING_TYPE = new TypeToken<List<String>>() {}.getType();
-
     private static final Pattern NON_DIGIT_OR_HYPHEN = Pattern.compile("[^\\d-]");
 
     private static final Pattern NON_DIGIT = Pattern.compile("\\D");
@@ -72,6 +88,12 @@ public class StagingPostDao {
     @Autowired
     JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    StagingPostHashCache hashCache;
+
+    @Autowired
+    SqlTemplateCache sqlTemplateCache;
+
     /**
      * Default constructor; initializes the object.
      */
@@ -98,8 +120,41 @@ public class StagingPostDao {
         }
     }
 
-    private static final String INSERT_STAGING_POST_SQL =
-            "insert into staging_posts (" +
+    private static final String FIND_EXISTING_HASHES_BY_QUEUE_ID_SQL =
+            "select post_hash from staging_posts where queue_id = ? and post_hash = any(?)";
+
+    /**
+     * Determines which of the given post hashes already exist in the given queue, using a single query.  If the
+     * staging post hash cache is enabled, hashes that are definitely absent from the queue are not checked
+     * against the database (see StagingPostHashCache re: multi-node deployments).
+     *
+     * @param queueId The ID of the queue to check.
+     * @param hashes  The post hashes to check for existence.
+     * @return The subset of the given hashes that already exist in the queue.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final Set<String> checkExisting(long queueId, Collection<String> hashes) throws DataAccessException {
+        if (isEmpty(hashes)) {
+            return new HashSet<>(0);
+        }
+        try {
+            Set<String> candidates = hashCache.filterPossiblyExisting(queueId, hashes);
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+            List<String> existing = jdbcTemplate.query(FIND_EXISTING_HASHES_BY_QUEUE_ID_SQL,
+                    (rs, rowNum) -> rs.getString("post_hash"), queueId, varcharArray(candidates));
+            Set<String> existingHashes = new HashSet<>(existing);
+            hashCache.recordFalsePositives(candidates.size() - existingHashes.size());
+            return existingHashes;
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "checkExisting", e.getMessage(), queueId, hashes);
+        }
+    }
+
+    private static final String STAGING_POST_DATA_COLUMNS =
                     "post_hash," +
                     "post_title," +
                     "post_desc," +
@@ -126,15 +181,39 @@ public class StagingPostDao {
                     "publish_timestamp," +
                     "expiration_timestamp," +
                     "enclosures," +
-                    "last_updated_timestamp," +
-                    "created" +
-                    ") values (" +
+                    "last_updated_timestamp";
+
+    private static final String INSERT_STAGING_POST_COLUMNS = STAGING_POST_DATA_COLUMNS + ",created";
+
+    // JSON columns stored as jsonb (the remainder are stored as json)
+    private static final Set<String> JSONB_COLUMNS = Set.of("post_title", "post_desc", "post_media", "post_itunes",
+            "contributors", "authors", "post_categories", "enclosures");
+
+    // object-valued jsonb columns that support merge updates; a merge update is a shallow merge (jsonb ||) of the
+    // encoded update into the existing document, i.e., top-level keys present in the update replace existing keys,
+    // and all other existing keys are retained.  null attributes are omitted by the encoder, thus never clear a key,
+    // and a null update leaves the column as-is.  a column that is not an object (SQL NULL, or the jsonb 'null' that
+    // the insert stores for a null title or description) is replaced by the update, since || would otherwise build an
+    // array.  the update is bound once, through a single-row subquery, so that both forms take one parameter
+    private static final Set<String> MERGEABLE_COLUMNS = Set.of("post_title", "post_desc", "post_media", "post_itunes");
+
+    private static String jsonbAssignment(boolean mergeUpdate, String column) {
+        return mergeUpdate && MERGEABLE_COLUMNS.contains(column) ?
+                column + " = (select case when u.v is null then " + column +
+                        " when " + column + " is null or jsonb_typeof(" + column + ") <> 'object' then u.v" +
+                        " else " + column + " || u.v end " +
+                        "from (select ?::jsonb as v) u)" :
+                column + " = ?::jsonb";
+    }
+
+    private static final String INSERT_STAGING_POST_VALUES =
+                    "(" +
                     "?," + // post_hash
-                    "cast(? as json)," + // post_title
-                    "cast(? as json)," + // post_desc
+                    "cast(? as jsonb)," + // post_title
+                    "cast(? as jsonb)," + // post_desc
                     "cast(? as json)," + // post_contents
-                    "cast(? as json)," + // post_media
-                    "cast(? as json)," + // post_itunes
+                    "cast(? as jsonb)," + // post_media
+                    "cast(? as jsonb)," + // post_itunes
                     "?," + // post_url
                     "cast(? as json)," + // post_urls
                     "?," + // post_img_url
@@ -143,21 +222,26 @@ public class StagingPostDao {
                     "?," + // importer_desc
                     "?," + // subscription_id
                     "?," + // queue_id
-                    "?," + // import_timestamp
+                    "coalesce(cast(? as timestamptz), current_timestamp)," + // import_timestamp
                     "?," + // post_read_status
                     "?," + // post_pub_status
                     "?," + // username
                     "?," + // post_comment
                     "?," + // post_rights
-                    "cast(? as json)," + // contributors
-                    "cast(? as json)," + // authors
-                    "cast(? as json)," + // post_categories
+                    "cast(? as jsonb)," + // contributors
+                    "cast(? as jsonb)," + // authors
+                    "cast(? as jsonb)," + // post_categories
                     "?," + // publish_timestamp
                     "?," + // expiration_timestamp
-                    "cast(? as json)," + // enclosures
+                    "cast(? as jsonb)," + // enclosures
                     "?," + // last_updated_timestamp
                     "current_timestamp" + // created
-                ")";
+                    ")";
+
+    private static final int INSERT_STAGING_POST_PARAM_CT = 27;
+
+    private static final String INSERT_STAGING_POST_SQL =
+            "insert into staging_posts (" + INSERT_STAGING_POST_COLUMNS + ") values " + INSERT_STAGING_POST_VALUES;
 
     private static final ZoneId ZONE_ID = ZoneId.systemDefault();
 
@@ -166,6 +250,41 @@ public class StagingPostDao {
         return null != instant ? Timestamp.from(instant) : null;
     }
 
+    private static void setInsertParams(PreparedStatement ps, int offset, StagingPost stagingPost) throws SQLException {
+        ps.setString(offset + 1, stagingPost.getPostHash());
+        ps.setString(offset + 2, CONTENT_OBJECT.encode(stagingPost.getPostTitle()));
+        ps.setString(offset + 3, CONTENT_OBJECT.encode(stagingPost.getPostDesc()));
+        ps.setString(offset + 4, ofNullable(stagingPost.getPostContents()).map(CONTENT_OBJECT_LIST::encode).orElse(null));
+        ps.setString(offset + 5, ofNullable(stagingPost.getPostMedia()).map(POST_MEDIA::encode).orElse(null));
+        ps.setString(offset + 6, ofNullable(stagingPost.getPostITunes()).map(POST_ITUNES::encode).orElse(null));
+        ps.setString(offset + 7, stagingPost.getPostUrl());
+        ps.setString(offset + 8, ofNullable(stagingPost.getPostUrls()).map(POST_URL_LIST::encode).orElse(null));
+        ps.setString(offset + 9, stagingPost.getPostImgUrl());
+        ps.setString(offset + 10, stagingPost.getPostImgTransportIdent());
+        ps.setString(offset + 11, stagingPost.getImporterId()); // nn
+        ps.setString(offset + 12, stagingPost.getImporterDesc());
+        Long subscriptionId = stagingPost.getSubscriptionId();
+        if (null != subscriptionId) {
+            ps.setLong(offset + 13, subscriptionId);
+        } else {
+            ps.setNull(offset + 13, INTEGER);
+        }
+        ps.setLong(offset + 14, stagingPost.getQueueId()); // nn
+        ps.setTimestamp(offset + 15, toTimestamp(stagingPost.getImportTimestamp()));
+        ps.setString(offset + 16, ofNullable(stagingPost.getPostReadStatus()).map(Enum::name).orElse(null));
+        ps.setString(offset + 17, ofNullable(stagingPost.getPostPubStatus()).map(Enum::name).orElse(null));
+        ps.setString(offset + 18, stagingPost.getUsername());
+        ps.setString(offset + 19, stagingPost.getPostComment());
+        ps.setString(offset + 20, stagingPost.getPostRights());
+        ps.setString(offset + 21, ofNullable(stagingPost.getContributors()).map(POST_PERSON_LIST::encode).orElse(null));
+        ps.setString(offset + 22, ofNullable(stagingPost.getAuthors()).map(POST_PERSON_LIST::encode).orElse(null));
+        ps.setString(offset + 23, ofNullable(stagingPost.getPostCategories()).map(STRING_LIST::encode).orElse(null));
+        ps.setTimestamp(offset + 24, toTimestamp(stagingPost.getPublishTimestamp()));
+        ps.setTimestamp(offset + 25, toTimestamp(stagingPost.getExpirationTimestamp()));
+        ps.setString(offset + 26, ofNullable(stagingPost.getEnclosures()).map(POST_ENCLOSURE_LIST::encode).orElse(null));
+        ps.setTimestamp(offset + 27, toTimestamp(stagingPost.getLastUpdatedTimestamp()));
+    }
+
     /**
      * Adds a new staging post to the database.
      *
@@ -183,38 +302,7 @@ public class StagingPostDao {
             rowsUpdated = jdbcTemplate.update(
                     conn -> {
                         PreparedStatement ps = conn.prepareStatement(INSERT_STAGING_POST_SQL, new String[]{"id"});
-                        ps.setString(1, stagingPost.getPostHash());
-                        ps.setString(2, GSON.toJson(stagingPost.getPostTitle()));
-                        ps.setString(3, GSON.toJson(stagingPost.getPostDesc()));
-                        ps.setString(4, ofNullable(stagingPost.getPostContents()).map(GSON::toJson).orElse(null));
-                        ps.setString(5, ofNullable(stagingPost.getPostMedia()).map(GSON::toJson).orElse(null));
-                        ps.setString(6, ofNullable(stagingPost.getPostITunes()).map(GSON::toJson).orElse(null));
-                        ps.setString(7, stagingPost.getPostUrl());
-                        ps.setString(8, ofNullable(stagingPost.getPostUrls()).map(GSON::toJson).orElse(null));
-                        ps.setString(9, stagingPost.getPostImgUrl());
-                        ps.setString(10, stagingPost.getPostImgTransportIdent());
-                        ps.setString(11, stagingPost.getImporterId()); // nn
-                        ps.setString(12, stagingPost.getImporterDesc());
-                        Long subscriptionId = stagingPost.getSubscriptionId();
-                        if (null != subscriptionId) {
-                            ps.setLong(13, subscriptionId);
-                        } else {
-                            ps.setNull(13, INTEGER);
-                        }
-                        ps.setLong(14, stagingPost.getQueueId()); // nn
-                        ps.setTimestamp(15, toTimestamp(stagingPost.getImportTimestamp()));
-                        ps.setString(16, ofNullable(stagingPost.getPostReadStatus()).map(Enum::name).orElse(null));
-                        ps.setString(17, ofNullable(stagingPost.getPostPubStatus()).map(Enum::name).orElse(null));
-                        ps.setString(18, stagingPost.getUsername());
-                        ps.setString(19, stagingPost.getPostComment());
-                        ps.setString(20, stagingPost.getPostRights());
-                        ps.setString(21, ofNullable(stagingPost.getContributors()).map(GSON::toJson).orElse(null));
-                        ps.setString(22, ofNullable(stagingPost.getAuthors()).map(GSON::toJson).orElse(null));
-                        ps.setString(23, ofNullable(stagingPost.getPostCategories()).map(GSON::toJson).orElse(null));
-                        ps.setTimestamp(24, toTimestamp(stagingPost.getPublishTimestamp()));
-                        ps.setTimestamp(25, toTimestamp(stagingPost.getExpirationTimestamp()));
-                        ps.setString(26, ofNullable(stagingPost.getEnclosures()).map(GSON::toJson).orElse(null));
-                        ps.setTimestamp(27, toTimestamp(stagingPost.getLastUpdatedTimestamp()));
+                        setInsertParams(ps, 0, stagingPost);
 
                         return ps;
                     }, keyHolder);
@@ -225,43 +313,261 @@ public class StagingPostDao {
             throw new DataAccessException(getClass().getSimpleName(), "add", e.getMessage(), stagingPost);
         }
         if (!(0 < rowsUpdated)) {
-            throw new DataUpdateException(getClass().getSimpleName(), "add", stagingPost);
+            // in the partitioned layout, a duplicate post is skipped by trg_staging_posts_hashes_claim, rather than
+            // violating a unique constraint
+            throw new DataConflictException(getClass().getSimpleName(), "add", "Duplicate post hash", stagingPost);
         }
+        hashCache.put(stagingPost.getQueueId(), stagingPost.getPostHash());
         Integer key = keyHolder.getKeyAs(Integer.class);
         return null == key ? null : toUnsignedLong(key);
     }
 
+    // Note: no conflict target is given, so that this statement also works against the partitioned layout of
+    // staging_posts, where the unique key must include the partition key (i.e., (queue_id, post_hash, import_timestamp));
+    // in that layout, duplicates are instead skipped by trg_staging_posts_hashes_claim (see staging_post_hashes)
+    private static final String INSERT_STAGING_POSTS_BATCH_SQL_TEMPLATE =
+            "insert into staging_posts (" + INSERT_STAGING_POST_COLUMNS + ") values %s " +
+                    "on conflict do nothing " +
+                    "returning id, queue_id, post_hash";
+
+    // each row binds INSERT_STAGING_POST_PARAM_CT parameters; stay well clear of the 65535 bind parameter limit
+    private static final int MAX_INSERT_BATCH_SIZE = 1000;
+
+    @Value("${newsgears.data.staging-posts.insert-batch-size:100}")
+    int insertBatchSize;
+
+    /**
+     * Adds a collection of staging posts to the database using multi-row inserts, sent in chunks of the
+     * configured batch size (newsgears.data.staging-posts.insert-batch-size).  Posts that conflict with an
+     * existing post in the same queue (i.e., same queue ID and post hash) are skipped rather than failing the batch.
+     *
+     * @param stagingPosts The staging posts to be added.
+     * @return The outcome of the operation, i.e., which posts were inserted and which were skipped.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostInsertResult addAll(Collection<? extends StagingPost> stagingPosts) throws DataAccessException {
+        return addAll(stagingPosts, insertBatchSize);
+    }
+
+    /**
+     * Adds a collection of staging posts to the database using multi-row inserts, sent in chunks of the given
+     * size.  Posts that conflict with an existing post in the same queue (i.e., same queue ID and post hash) are
+     * skipped rather than failing the batch.  The ID of each inserted post is set on the post.
+     *
+     * @param stagingPosts The staging posts to be added.
+     * @param batchSize    The maximum number of posts to send in a single statement.
+     * @return The outcome of the operation, i.e., which posts were inserted and which were skipped.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostInsertResult addAll(Collection<? extends StagingPost> stagingPosts, int batchSize) throws DataAccessException {
+        List<StagingPost> inserted = new ArrayList<>(size(stagingPosts));
+        List<StagingPost> skipped = new ArrayList<>();
+        if (isEmpty(stagingPosts)) {
+            return StagingPostInsertResult.from(inserted, skipped);
+        }
+        int chunkSize = Math.max(1, Math.min(batchSize, MAX_INSERT_BATCH_SIZE));
+        for (List<? extends StagingPost> chunk : partition(new ArrayList<>(stagingPosts), chunkSize)) {
+            Map<String, Deque<Long>> insertedIds = insertChunk(chunk);
+            for (StagingPost p : chunk) {
+                Deque<Long> ids = insertedIds.get(toQueueHashKey(p.getQueueId(), p.getPostHash()));
+                Long id = null == ids ? null : ids.pollFirst();
+                if (null != id) {
+                    p.setId(id);
+                    inserted.add(p);
+                    hashCache.put(p.getQueueId(), p.getPostHash());
+                } else {
+                    skipped.add(p);
+                }
+            }
+        }
+        log.debug("Staging post batch insert complete, insertedCt={}, skippedCt={}", inserted.size(), skipped.size());
+
+        return StagingPostInsertResult.from(inserted, skipped);
+    }
+
+    private Map<String, Deque<Long>> insertChunk(List<? extends StagingPost> chunk) throws DataAccessException {
+        String valueHolders = String.join(",", nCopies(chunk.size(), INSERT_STAGING_POST_VALUES));
+        String sql = String.format(INSERT_STAGING_POSTS_BATCH_SQL_TEMPLATE, valueHolders);
+        Map<String, Deque<Long>> insertedIds = new HashMap<>(chunk.size());
+        try {
+            jdbcTemplate.query(
+                    conn -> {
+                        PreparedStatement ps = conn.prepareStatement(sql);
+                        int offset = 0;
+                        for (StagingPost p : chunk) {
+                            setInsertParams(ps, offset, p);
+                            offset += INSERT_STAGING_POST_PARAM_CT;
+                        }
+                        return ps;
+                    },
+                    rs -> {
+                        String key = toQueueHashKey(rs.getLong("queue_id"), rs.getString("post_hash"));
+                        insertedIds.computeIfAbsent(key, k -> new ArrayDeque<>(1)).addLast(rs.getLong("id"));
+                    });
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "addAll", e.getMessage(), chunk.size());
+        }
+
+        return insertedIds;
+    }
+
+    private static String toQueueHashKey(Long queueId, String postHash) {
+        return queueId + ":" + postHash;
+    }
+
+    private static final String CREATE_STAGING_POSTS_LOAD_TABLE_SQL =
+            "create temp table staging_posts_load on commit drop as " +
+                    "select " + STAGING_POST_DATA_COLUMNS + " from staging_posts with no data";
+
+    private static final String COPY_STAGING_POSTS_LOAD_SQL =
+            "copy staging_posts_load (" + STAGING_POST_DATA_COLUMNS + ") from stdin with (format csv)";
+
+    // import_timestamp defaults to the current time, as in INSERT_STAGING_POST_VALUES
+    private static final String MERGE_STAGING_POSTS_LOAD_SELECT_COLUMNS =
+            STAGING_POST_DATA_COLUMNS.replace("import_timestamp,", "coalesce(import_timestamp, current_timestamp),");
+
+    // Note: see INSERT_STAGING_POSTS_BATCH_SQL_TEMPLATE re: the conflict target
+    private static final String MERGE_STAGING_POSTS_LOAD_SQL =
+            "insert into staging_posts (" + INSERT_STAGING_POST_COLUMNS + ") " +
+                    "select " + MERGE_STAGING_POSTS_LOAD_SELECT_COLUMNS + ",current_timestamp from staging_posts_load " +
+                    "on conflict do nothing";
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    /**
+     * Bulk-loads staging posts into the database.  Posts are streamed through the Postgres COPY protocol into a
+     * transaction-scoped temporary table, and then merged into staging_posts in a single statement.  Posts that
+     * conflict with an existing post in the same queue (i.e., same queue ID and post hash) are skipped.  The
+     * entire operation runs in a single transaction.
+     * <p>
+     * This method is intended for backfills and queue migrations; it does not return the IDs of the merged posts.
+     *
+     * @param stagingPosts The staging posts to be loaded; these are consumed lazily, one at a time.
+     * @return The outcome of the operation, including row counts and throughput.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostBulkLoadResult bulkLoad(Iterable<? extends StagingPost> stagingPosts) throws DataAccessException {
+        long startTime = System.nanoTime();
+        Set<Long> queueIds = new HashSet<>();
+        StagingPostBulkLoadResult result;
+        try {
+            result = new TransactionTemplate(transactionManager).execute(status -> {
+                jdbcTemplate.execute(CREATE_STAGING_POSTS_LOAD_TABLE_SQL);
+                Long copiedCt = jdbcTemplate.execute((ConnectionCallback<Long>) conn -> {
+                    PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                    PGCopyOutputStream copyStream = new PGCopyOutputStream(pgConnection, COPY_STAGING_POSTS_LOAD_SQL);
+                    try (Writer writer = new BufferedWriter(new OutputStreamWriter(copyStream, UTF_8))) {
+                        for (StagingPost p : stagingPosts) {
+                            writer.write(toCopyRow(p));
+                            queueIds.add(p.getQueueId());
+                        }
+                        writer.flush();
+                        return copyStream.endCopy();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                int mergedCt = jdbcTemplate.update(MERGE_STAGING_POSTS_LOAD_SQL);
+                long copied = null == copiedCt ? 0L : copiedCt;
+                return StagingPostBulkLoadResult.from(copied, mergedCt, NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            });
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "bulkLoad", e.getMessage());
+        }
+        // merged hashes are not known individually; re-warm the affected queues on next use
+        queueIds.forEach(hashCache::invalidate);
+        if (null != result) {
+            log.info("Staging post bulk load complete, copiedCt={}, mergedCt={}, skippedCt={}, elapsedMs={}, rowsPerSecond={}",
+                    result.getCopiedCt(), result.getMergedCt(), result.getSkippedCt(), result.getElapsedMs(), result.getRowsPerSecond());
+        }
+
+        return result;
+    }
+
+    // encodes the given post as a CSV line, in the order of STAGING_POST_DATA_COLUMNS, using the same JSON encoding as add()
+    private static String toCopyRow(StagingPost stagingPost) {
+        StringBuilder sb = new StringBuilder(2048);
+        appendCsv(sb, stagingPost.getPostHash()).append(',');
+        appendCsv(sb, CONTENT_OBJECT.encode(stagingPost.getPostTitle())).append(',');
+        appendCsv(sb, CONTENT_OBJECT.encode(stagingPost.getPostDesc())).append(',');
+        appendCsv(sb, ofNullable(stagingPost.getPostContents()).map(CONTENT_OBJECT_LIST::encode).orElse(null)).append(',');
+        appendCsv(sb, ofNullable(stagingPost.getPostMedia()).map(POST_MEDIA::encode).orElse(null)).append(',');
+        appendCsv(sb, ofNullable(stagingPost.getPostITunes()).map(POST_ITUNES::encode).orElse(null)).append(',');
+        appendCsv(sb, stagingPost.getPostUrl()).append(',');
+        appendCsv(sb, ofNullable(stagingPost.getPostUrls()).map(POST_URL_LIST::encode).orElse(null)).append(',');
+        appendCsv(sb, stagingPost.getPostImgUrl()).append(',');
+        appendCsv(sb, stagingPost.getPostImgTransportIdent()).append(',');
+        appendCsv(sb, stagingPost.getImporterId()).append(','); // nn
+        appendCsv(sb, stagingPost.getImporterDesc()).append(',');
+        appendCsv(sb, ofNullable(stagingPost.getSubscriptionId()).map(String::valueOf).orElse(null)).append(',');
+        appendCsv(sb, String.valueOf(stagingPost.getQueueId())).append(','); // nn
+        appendCsv(sb, toCopyTimestamp(stagingPost.getImportTimestamp())).append(',');
+        appendCsv(sb, ofNullable(stagingPost.getPostReadStatus()).map(Enum::name).orElse(null)).append(',');
+        appendCsv(sb, ofNullable(stagingPost.getPostPubStatus()).map(Enum::name).orElse(null)).append(',');
+        appendCsv(sb, stagingPost.getUsername()).append(',');
+        appendCsv(sb, stagingPost.getPostComment()).append(',');
+        appendCsv(sb, stagingPost.getPostRights()).append(',');
+        appendCsv(sb, ofNullable(stagingPost.getContributors()).map(POST_PERSON_LIST::encode).orElse(null)).append(',');
+        appendCsv(sb, ofNullable(stagingPost.getAuthors()).map(POST_PERSON_LIST::encode).orElse(null)).append(',');
+        appendCsv(sb, ofNullable(stagingPost.getPostCategories()).map(STRING_LIST::encode).orElse(null)).append(',');
+        appendCsv(sb, toCopyTimestamp(stagingPost.getPublishTimestamp())).append(',');
+        appendCsv(sb, toCopyTimestamp(stagingPost.getExpirationTimestamp())).append(',');
+        appendCsv(sb, ofNullable(stagingPost.getEnclosures()).map(POST_ENCLOSURE_LIST::encode).orElse(null)).append(',');
+        appendCsv(sb, toCopyTimestamp(stagingPost.getLastUpdatedTimestamp())).append('\n');
+
+        return sb.toString();
+    }
+
+    // in CSV format, an unquoted empty value is NULL, and a quoted value is taken literally (with embedded quotes doubled)
+    private static StringBuilder appendCsv(StringBuilder sb, String value) {
+        if (null != value) {
+            sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return sb;
+    }
+
+    private static String toCopyTimestamp(Date date) {
+        Timestamp timestamp = toTimestamp(date);
+        return null != timestamp ? timestamp.toInstant().toString() : null;
+    }
+
     private final RowMapper<StagingPost> STAGING_POST_ROW_MAPPER = (rs, rowNum) -> {
         Long id = rs.getLong("id");
         // post_title
         ContentObject postTitle = null;
         PGobject postTitleObj = ((PGobject) rs.getObject("post_title"));
         if (null != postTitleObj) {
-            postTitle = GSON.fromJson(postTitleObj.getValue(), ContentObject.class);
+            postTitle = CONTENT_OBJECT.decode(postTitleObj.getValue());
         }
         // post_description
         ContentObject postDesc = null;
         PGobject postDescObj = ((PGobject) rs.getObject("post_desc"));
         if (null != postDescObj) {
-            postDesc = GSON.fromJson(postDescObj.getValue(), ContentObject.class);
+            postDesc = CONTENT_OBJECT.decode(postDescObj.getValue());
         }
         // post_contents
         List<ContentObject> postContents = null;
         PGobject postContentsObj = ((PGobject) rs.getObject("post_contents"));
         if (null != postContentsObj) {
-            postContents = GSON.fromJson(postContentsObj.getValue(), LIST_CONTENT_OBJECT_TYPE);
+            postContents = CONTENT_OBJECT_LIST.decode(postContentsObj.getValue());
         }
         // post_media
         PostMedia postMedia = null;
         PGobject postMediaObj = ((PGobject) rs.getObject("post_media"));
         if (null != postMediaObj) {
-            postMedia = GSON.fromJson(postMediaObj.getValue(), PostMedia.class);
+            postMedia = POST_MEDIA.decode(postMediaObj.getValue());
         }
         // post iTunes
         PostITunes postITunes = null;
         PGobject postITunesObj = ((PGobject) rs.getObject("post_itunes"));
         if (null != postITunesObj) {
-            postITunes = GSON.fromJson(postITunesObj.getValue(), PostITunes.class);
+            postITunes = POST_ITUNES.decode(postITunesObj.getValue());
         }
         // post_url
         String postUrl = rs.getString("post_url");
@@ -269,7 +575,7 @@ public class StagingPostDao {
         List<PostUrl> postUrls = null;
         PGobject postUrlsObj = ((PGobject) rs.getObject("post_urls"));
         if (null != postUrlsObj) {
-            postUrls = GSON.fromJson(postUrlsObj.getValue(), LIST_POST_URL_TYPE);
+            postUrls = POST_URL_LIST.decode(postUrlsObj.getValue());
         }
         String postImgUrl = rs.getString("post_img_url");
         String postImgTransportIdent = rs.getString("post_img_transport_ident");
@@ -288,19 +594,19 @@ public class StagingPostDao {
         List<PostPerson> contributors = null;
         PGobject contributorsObj = ((PGobject) rs.getObject("contributors"));
         if (null != contributorsObj) {
-            contributors = GSON.fromJson(contributorsObj.getValue(), LIST_POST_PERSON_TYPE);
+            contributors = POST_PERSON_LIST.decode(contributorsObj.getValue());
         }
         // authors
         List<PostPerson> authors = null;
         PGobject authorsObj = ((PGobject) rs.getObject("authors"));
         if (null != authorsObj) {
-            authors = GSON.fromJson(authorsObj.getValue(), LIST_POST_PERSON_TYPE);
+            authors = POST_PERSON_LIST.decode(authorsObj.getValue());
         }
         // post_categories
         List<String> postCategories = null;
         PGobject postCategoriesObj = ((PGobject) rs.getObject("post_categories"));
         if (null != postCategoriesObj) {
-            postCategories = GSON.fromJson(postCategoriesObj.getValue(), LIST_STRING_TYPE);
+            postCategories = STRING_LIST.decode(postCategoriesObj.getValue());
         }
         Timestamp publishTimestamp = rs.getTimestamp("publish_timestamp");
         Timestamp expirationTimestamp = rs.getTimestamp("expiration_timestamp");
@@ -308,7 +614,7 @@ public class StagingPostDao {
         List<PostEnclosure> enclosures = null;
         PGobject enclosuresObj = ((PGobject) rs.getObject("enclosures"));
         if (null != enclosuresObj) {
-            enclosures = GSON.fromJson(enclosuresObj.getValue(), LIST_POST_ENCLOSURE_TYPE);
+            enclosures = POST_ENCLOSURE_LIST.decode(enclosuresObj.getValue());
         }
         Timestamp lastUpdatedTimestamp = rs.getTimestamp("last_updated_timestamp");
         boolean isPublished = rs.getBoolean("is_published");
@@ -366,6 +672,114 @@ public class StagingPostDao {
         return p;
     };
 
+    private static String toJsonText(Object obj) {
+        return null == obj ? null : ((PGobject) obj).getValue();
+    }
+
+    // maps the same columns as STAGING_POST_ROW_MAPPER, but defers JSON decoding to LazyStagingPost
+    private final RowMapper<LazyStagingPost> LAZY_STAGING_POST_ROW_MAPPER = (rs, rowNum) -> {
+        Long id = rs.getLong("id");
+        String postReadStatus = rs.getString("post_read_status");
+        PostReadStatus readStatus = null;
+        if (null != postReadStatus) {
+            try {
+                readStatus = PostReadStatus.valueOf(postReadStatus);
+            } catch (Exception e) {
+                log.error("Unknown post-read status for postId={}, status={}", id, postReadStatus);
+            }
+        }
+        String postPubStatus = rs.getString("post_pub_status");
+        PostPubStatus pubStatus = null;
+        if (null != postPubStatus) {
+            try {
+                pubStatus = PostPubStatus.valueOf(postPubStatus);
+            } catch (Exception e) {
+                log.error("Unknown post-pub status for postId={}, status={}", id, postPubStatus);
+            }
+        }
+
+        return LazyStagingPost.from(
+                id,
+                rs.getString("importer_id"),
+                rs.getLong("queue_id"),
+                rs.getString("importer_desc"),
+                rs.getLong("subscription_id"),
+                rs.getString("post_url"),
+                rs.getString("post_img_url"),
+                rs.getString("post_img_transport_ident"),
+                rs.getTimestamp("import_timestamp"),
+                rs.getString("post_hash"),
+                rs.getString("username"),
+                rs.getString("post_comment"),
+                rs.getString("post_rights"),
+                rs.getTimestamp("publish_timestamp"),
+                rs.getTimestamp("expiration_timestamp"),
+                rs.getTimestamp("last_updated_timestamp"),
+                rs.getTimestamp("created"),
+                rs.getTimestamp("last_modified"),
+                readStatus,
+                pubStatus,
+                rs.getBoolean("is_published"),
+                rs.getBoolean("is_archived"),
+                toJsonText(rs.getObject("post_title")),
+                toJsonText(rs.getObject("post_desc")),
+                toJsonText(rs.getObject("post_contents")),
+                toJsonText(rs.getObject("post_media")),
+                toJsonText(rs.getObject("post_itunes")),
+                toJsonText(rs.getObject("post_urls")),
+                toJsonText(rs.getObject("contributors")),
+                toJsonText(rs.getObject("authors")),
+                toJsonText(rs.getObject("post_categories")),
+                toJsonText(rs.getObject("enclosures"))
+        );
+    };
+
+    // maps the columns of STAGING_POST_SUMMARY_COLUMNS; of the JSON columns, only post_title is decoded
+    private final RowMapper<StagingPostSummary> STAGING_POST_SUMMARY_ROW_MAPPER = (rs, rowNum) -> {
+        Long id = rs.getLong("id");
+        // post_title
+        ContentObject postTitle = null;
+        PGobject postTitleObj = ((PGobject) rs.getObject("post_title"));
+        if (null != postTitleObj) {
+            postTitle = CONTENT_OBJECT.decode(postTitleObj.getValue());
+        }
+        String postReadStatus = rs.getString("post_read_status");
+        PostReadStatus readStatus = null;
+        if (null != postReadStatus) {
+            try {
+                readStatus = PostReadStatus.valueOf(postReadStatus);
+            } catch (Exception e) {
+                log.error("Unknown post-read status for postId={}, status={}", id, postReadStatus);
+            }
+        }
+        String postPubStatus = rs.getString("post_pub_status");
+        PostPubStatus pubStatus = null;
+        if (null != postPubStatus) {
+            try {
+                pubStatus = PostPubStatus.valueOf(postPubStatus);
+            } catch (Exception e) {
+                log.error("Unknown post-pub status for postId={}, status={}", id, postPubStatus);
+            }
+        }
+
+        return StagingPostSummary.from(
+                id,
+                rs.getLong("queue_id"),
+                rs.getLong("subscription_id"),
+                postTitle,
+                rs.getString("post_url"),
+                rs.getString("post_img_url"),
+                rs.getString("post_img_transport_ident"),
+                rs.getTimestamp("import_timestamp"),
+                rs.getTimestamp("publish_timestamp"),
+                rs.getTimestamp("last_updated_timestamp"),
+                readStatus,
+                pubStatus,
+                rs.getBoolean("is_published"),
+                rs.getBoolean("is_archived")
+        );
+    };
+
 //    private static final String FIND_PUB_PENDING_SQL = "select * from staging_posts where post_pub_status = 'PUB_PENDING'";
 
     // Note: this query excludes queues marked for deletion
@@ -398,6 +812,29 @@ public class StagingPostDao {
         return emptyList(); // jdbcTemplate.query(FIND_PUB_PENDING_SQL, STAGING_POST_ROW_MAPPER);
     }
 
+    /**
+     * Retrieves a list of staging posts that are pending publication for a specific user and queue, without
+     * decoding their JSON attributes up front.
+     *
+     * @param username The username of the user.
+     * @param queueId  The ID of the queue.
+     * @return A list of lazily-decoded staging posts pending publication.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<LazyStagingPost> getPubPendingLazy(String username, Long queueId) throws DataAccessException {
+        if (isNotBlank(username) && null != queueId) {
+            try {
+                return jdbcTemplate.query(FIND_PUB_PENDING_BY_QUEUE_ID_SQL, LAZY_STAGING_POST_ROW_MAPPER, username, queueId);
+            } catch (Exception e) {
+                log.error("Something horrible happened due to: {}", e.getMessage());
+                throw new DataAccessException(getClass().getSimpleName(), "getPubPendingLazy", e.getMessage(), username, queueId);
+            }
+        }
+
+        return emptyList();
+    }
+
     // Note: this query does not exclude queues marked for deletion
     private static final String FIND_DEPUB_PENDING_BY_QUEUE_SQL =
             "select * from staging_posts s " +
@@ -428,6 +865,126 @@ public class StagingPostDao {
         return null;
     }
 
+    /**
+     * Retrieves a list of staging posts that are pending depublishment for a specific user and queue, without
+     * decoding their JSON attributes up front.
+     *
+     * @param username The username of the user.
+     * @param queueId  The ID of the queue.
+     * @return A list of lazily-decoded staging posts pending depublishment.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<LazyStagingPost> getDepubPendingLazy(String username, Long queueId) throws DataAccessException {
+        if (isNotBlank(username) && null != queueId) {
+            try {
+                return jdbcTemplate.query(FIND_DEPUB_PENDING_BY_QUEUE_SQL, LAZY_STAGING_POST_ROW_MAPPER, username, queueId);
+            } catch (Exception e) {
+                log.error("Something horrible happened due to: {}", e.getMessage());
+                throw new DataAccessException(getClass().getSimpleName(), "getDepubPendingLazy", e.getMessage(), username, queueId);
+            }
+        }
+
+        return emptyList();
+    }
+
+    //
+    // competing-consumer claims; a publisher node claims a batch of PUB_PENDING posts by stamping them with a lease
+    // (owner + expiry).  claims skip rows that are locked by a concurrent claim, and rows that hold an unexpired
+    // lease, thus publisher nodes never see the same post twice, unless the lease of the first node lapses
+    //
+
+    @Value("${newsgears.data.staging-posts.claim.lease-owner:#{null}}")
+    String leaseOwner;
+
+    private static final String DEFAULT_LEASE_OWNER = ManagementFactory.getRuntimeMXBean().getName();
+
+    /**
+     * Gets the lease owner that identifies this node in publication claims, i.e., the configured lease owner
+     * (newsgears.data.staging-posts.claim.lease-owner), or the process name (pid@host) if none is configured.
+     *
+     * @return The lease owner of this node.
+     */
+    @SuppressWarnings("unused")
+    public final String getLeaseOwner() {
+        return isNotBlank(leaseOwner) ? leaseOwner : DEFAULT_LEASE_OWNER;
+    }
+
+    // Note: this query excludes queues marked for deletion
+    private static final String CLAIM_PUB_PENDING_SQL =
+            "update staging_posts s set lease_owner = ?, lease_expiry = current_timestamp + make_interval(secs => ?) " +
+            "where s.id in (" +
+            "  select p.id from staging_posts p " +
+            "  join queue_definitions f on f.id = p.queue_id " +
+            "  where f.queue_status = 'ENABLED' and f.is_deleted is false " +
+            "  and p.post_pub_status = 'PUB_PENDING' " +
+            "  and (p.lease_expiry is null or p.lease_expiry < current_timestamp) " +
+            "  order by p.id limit ? " +
+            "  for update of p skip locked" +
+            ") returning s.*";
+
+    /**
+     * Claims a batch of staging posts that are pending publication, on behalf of this node (see getLeaseOwner).
+     *
+     * @param batchSize     The maximum number of posts to claim.
+     * @param leaseDuration The duration of the lease.
+     * @return A list of claimed staging posts.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPost> claimPubPending(int batchSize, Duration leaseDuration) throws DataAccessException {
+        return claimPubPending(getLeaseOwner(), batchSize, leaseDuration);
+    }
+
+    /**
+     * Claims a batch of staging posts that are pending publication, across all users and enabled queues.  Claiming
+     * is atomic: rows are locked with FOR UPDATE SKIP LOCKED, thus concurrent claims never block on, or return, the
+     * same rows.  Claimed rows are stamped with the given lease owner and an expiry; a post whose lease has expired
+     * (e.g., because its owner died before completing publication) may be claimed again.  The lease is cleared by
+     * markPubComplete or releasePubClaims.
+     *
+     * @param leaseOwner    The identity of the claiming node.
+     * @param batchSize     The maximum number of posts to claim.
+     * @param leaseDuration The duration of the lease.
+     * @return A list of claimed staging posts.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPost> claimPubPending(String leaseOwner, int batchSize, Duration leaseDuration) throws DataAccessException {
+        try {
+            double leaseSecs = leaseDuration.toMillis() / 1000.0;
+            return jdbcTemplate.query(CLAIM_PUB_PENDING_SQL, STAGING_POST_ROW_MAPPER, leaseOwner, leaseSecs, batchSize);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "claimPubPending", e.getMessage(), leaseOwner, batchSize, leaseDuration);
+        }
+    }
+
+    private static final String RELEASE_PUB_CLAIMS_SQL =
+            "update staging_posts set lease_owner = null, lease_expiry = null where lease_owner = ? and id = any(?)";
+
+    /**
+     * Releases the publication claims held by the given lease owner on the given staging posts, e.g., after a failed
+     * publication attempt, so that they may be claimed again without waiting for the lease to expire.
+     *
+     * @param leaseOwner The identity of the claiming node.
+     * @param ids        The IDs of the staging posts to release.
+     * @return The number of claims released.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final int releasePubClaims(String leaseOwner, List<Long> ids) throws DataAccessException {
+        if (isEmpty(ids)) {
+            return 0;
+        }
+        try {
+            return jdbcTemplate.update(RELEASE_PUB_CLAIMS_SQL, leaseOwner, bigintArray(ids));
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "releasePubClaims", e.getMessage(), leaseOwner, ids);
+        }
+    }
+
     private static final String DELETE_BY_QUEUE_ID_SQL = "delete from staging_posts where queue_id = ? and username = ?";
 
     /**
@@ -450,10 +1007,13 @@ public class StagingPostDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "deleteByQueueId", username, queueId);
         }
+        hashCache.invalidate(queueId);
     }
 
     private static final String DELETE_BY_ID_SQL = "delete from staging_posts where id = ? and username = ?";
 
+    private static final String DELETE_BY_IDS_SQL = "delete from staging_posts where id = any(?) and username = ? returning id";
+
     /**
      * Deletes a staging post by its ID for a specific user.
      *
@@ -474,6 +1034,7 @@ public class StagingPostDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "deleteById", username, id);
         }
+        hashCache.recordRemovals(rowsUpdated);
     }
 
     /**
@@ -487,19 +1048,33 @@ public class StagingPostDao {
      */
     @SuppressWarnings("unused")
     public final int deleteByIds(String username, List<Long> ids) throws DataAccessException, DataUpdateException {
-        int rowsUpdated;
+        return bulkDeleteByIds(username, ids).size();
+    }
+
+    /**
+     * Deletes multiple staging posts by their IDs for a specific user, in a single statement.
+     *
+     * @param username The username of the user.
+     * @param ids      A list of staging post IDs to delete.
+     * @return The IDs of the staging posts that were deleted.
+     * @throws DataAccessException    If an error occurs while accessing the data.
+     * @throws DataUpdateException   If an error occurs during the data update operation.
+     */
+    @SuppressWarnings("unused")
+    public final List<Long> bulkDeleteByIds(String username, List<Long> ids) throws DataAccessException, DataUpdateException {
+        List<Long> deletedIds;
         try {
-            List<Object[]> params = ids.stream().map(id -> new Object[]{id, username}).collect(toList());
-            rowsUpdated = stream(jdbcTemplate.batchUpdate(DELETE_BY_ID_SQL, params)).sum();
+            deletedIds = jdbcTemplate.query(DELETE_BY_IDS_SQL, (rs, rowNum) -> rs.getLong("id"), bigintArray(ids), username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
-            throw new DataAccessException(getClass().getSimpleName(), "deleteByIds", e.getMessage(), username, ids);
+            throw new DataAccessException(getClass().getSimpleName(), "bulkDeleteByIds", e.getMessage(), username, ids);
         }
-        if (!(0 < rowsUpdated)) {
-            throw new DataUpdateException(getClass().getSimpleName(), "deleteByIds", username, ids);
+        if (deletedIds.isEmpty()) {
+            throw new DataUpdateException(getClass().getSimpleName(), "bulkDeleteByIds", username, ids);
         }
+        hashCache.recordRemovals(deletedIds.size());
 
-        return rowsUpdated;
+        return deletedIds;
     }
 
     private static final String FIND_QUEUE_ID_BY_STAGING_POST_ID =
@@ -541,6 +1116,98 @@ public class StagingPostDao {
         }
     }
 
+    //
+    // keyset pagination; pages are ordered by (import_timestamp, id) descending, thus posts without an
+    // import timestamp are not returned by the paginated queries
+    //
+
+    private static final String KEYSET_AFTER_CLAUSE = " and (s.import_timestamp, s.id) < (?, ?)";
+
+    private static final String KEYSET_ORDER_CLAUSE = " order by s.import_timestamp desc, s.id desc limit ?";
+
+    @Value("${newsgears.data.staging-posts.fetch-size:500}")
+    int fetchSize;
+
+    private static void validatePageSize(int pageSize) {
+        if (0 >= pageSize) {
+            throw new IllegalArgumentException("Page size must be positive: pageSize=" + pageSize);
+        }
+    }
+
+    private StagingPostPage findPage(String sql, Date afterImportTimestamp, Long afterId, int pageSize, Object... args) {
+        boolean hasCursor = null != afterImportTimestamp && null != afterId;
+        List<Object> params = new ArrayList<>(Arrays.asList(args));
+        if (hasCursor) {
+            params.add(new Timestamp(afterImportTimestamp.getTime()));
+            params.add(afterId);
+        }
+        params.add(pageSize + 1); // fetch one extra row to determine whether there is a next page
+        String pageSql = sql + (hasCursor ? KEYSET_AFTER_CLAUSE : EMPTY) + KEYSET_ORDER_CLAUSE;
+        List<StagingPost> posts = jdbcTemplate.query(pageSql, STAGING_POST_ROW_MAPPER, params.toArray());
+        if (posts.size() > pageSize) {
+            posts = new ArrayList<>(posts.subList(0, pageSize));
+            StagingPost last = posts.get(pageSize - 1);
+            return StagingPostPage.from(posts, last.getImportTimestamp(), last.getId());
+        }
+
+        return StagingPostPage.from(posts, null, null);
+    }
+
+    private Stream<StagingPost> queryForStream(String sql, Object... args) {
+        return jdbcTemplate.queryForStream(
+                conn -> {
+                    PreparedStatement ps = conn.prepareStatement(sql);
+                    ps.setFetchSize(fetchSize);
+                    for (int i = 0; i < args.length; i++) {
+                        ps.setObject(i + 1, args[i]);
+                    }
+                    return ps;
+                },
+                STAGING_POST_ROW_MAPPER);
+    }
+
+    private static final String FIND_ALL_PAGE_SQL = "select s.* from staging_posts s where s.import_timestamp is not null";
+
+    /**
+     * Retrieves a single page of all staging posts, ordered by import timestamp (newest first).  Posts without an
+     * import timestamp are not returned.
+     *
+     * @param afterImportTimestamp The import timestamp of the cursor (from the previous page), or null for the first page.
+     * @param afterId              The ID of the cursor (from the previous page), or null for the first page.
+     * @param pageSize             The maximum number of posts to return.
+     * @return A page of staging posts, including the cursor of the next page.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     * @throws IllegalArgumentException If the page size is not positive.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostPage findAll(Date afterImportTimestamp, Long afterId, int pageSize) throws DataAccessException {
+        validatePageSize(pageSize);
+        try {
+            return findPage(FIND_ALL_PAGE_SQL, afterImportTimestamp, afterId, pageSize);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findAll", e.getMessage(), afterImportTimestamp, afterId, pageSize);
+        }
+    }
+
+    /**
+     * Streams all staging posts using a server-side cursor, fetching newsgears.data.staging-posts.fetch-size rows
+     * at a time.  The caller must consume the stream within a transaction (the Postgres driver only uses a cursor
+     * when auto-commit is disabled), and must close the stream to release the underlying connection.
+     *
+     * @return A stream of all staging posts.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final Stream<StagingPost> streamAll() throws DataAccessException {
+        try {
+            return queryForStream(FIND_ALL_SQL);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "streamAll", e.getMessage());
+        }
+    }
+
     private static final String FIND_BY_USER_SQL = "select s.* from staging_posts s " +
             "join queue_definitions f on f.id = s.queue_id " +
             "where (s.is_archived is false) " +
@@ -564,13 +1231,80 @@ public class StagingPostDao {
         }
     }
 
+    /**
+     * Retrieves a list of staging posts for a specific user, without decoding their JSON attributes up front.
+     *
+     * @param username The username of the user.
+     * @return A list of lazily-decoded staging posts for the user.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<LazyStagingPost> findByUserLazy(String username) throws DataAccessException {
+        try {
+            return jdbcTemplate.query(FIND_BY_USER_SQL, LAZY_STAGING_POST_ROW_MAPPER, username);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findByUserLazy", e.getMessage(), username);
+        }
+    }
+
+    // Note: s.username is redundant w/the join on f.username, but allows use of idx_staging_posts_username_import_timestamp
+    private static final String FIND_BY_USER_PAGE_SQL = "select s.* from staging_posts s " +
+            "join queue_definitions f on f.id = s.queue_id " +
+            "where (s.is_archived is false) " +
+            "and s.username = ? " +
+            "and f.username = ? " +
+            "and f.is_deleted is false " +
+            "and s.import_timestamp is not null";
+
+    /**
+     * Retrieves a single page of staging posts for a specific user, ordered by import timestamp (newest first).
+     * Posts without an import timestamp are not returned.
+     *
+     * @param username             The username of the user.
+     * @param afterImportTimestamp The import timestamp of the cursor (from the previous page), or null for the first page.
+     * @param afterId              The ID of the cursor (from the previous page), or null for the first page.
+     * @param pageSize             The maximum number of posts to return.
+     * @return A page of staging posts for the user, including the cursor of the next page.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     * @throws IllegalArgumentException If the page size is not positive.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostPage findByUser(String username, Date afterImportTimestamp, Long afterId, int pageSize) throws DataAccessException {
+        validatePageSize(pageSize);
+        try {
+            return findPage(FIND_BY_USER_PAGE_SQL, afterImportTimestamp, afterId, pageSize, username, username);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findByUser", e.getMessage(), username, afterImportTimestamp, afterId, pageSize);
+        }
+    }
+
+    /**
+     * Streams the staging posts for a specific user using a server-side cursor.  The caller must consume the
+     * stream within a transaction, and must close the stream to release the underlying connection.
+     *
+     * @param username The username of the user.
+     * @return A stream of staging posts for the user.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final Stream<StagingPost> streamByUser(String username) throws DataAccessException {
+        try {
+            return queryForStream(FIND_BY_USER_SQL, username);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "streamByUser", e.getMessage(), username);
+        }
+    }
+
     // Note: this query exclude queues marked for deletion
-    private static final String FIND_BY_USER_AND_QUEUE_ID_SQL_TEMPLATE =
+    private static final String FIND_BY_USER_AND_QUEUE_IDS_SQL =
             "select s.* from staging_posts s " +
                 "join queue_definitions f on f.id = s.queue_id " +
                 "where f.username = ? " +
                 "and f.is_deleted is false " +
-                "and f.id in (%s) " +
+                "and f.id = any(?) " +
                 "and (s.is_archived is false)";
 
     /**
@@ -584,43 +1318,383 @@ public class StagingPostDao {
     @SuppressWarnings("unused")
     public final List<StagingPost> findByUserAndQueueIds(String username, List<Long> queueIds) throws DataAccessException {
         try {
-            // TODO: this should be a general purpose utility method, and should support groups on 'in' params > 1000
-            String inSql = queueIds.stream()
-                .map(Object::toString)
-                .map(s -> NON_DIGIT_OR_HYPHEN.matcher(s).replaceAll(EMPTY))
-                .collect(joining(","));
-            return jdbcTemplate.query(
-                    String.format(FIND_BY_USER_AND_QUEUE_ID_SQL_TEMPLATE, inSql),
-                    new Object[]{username},
-                    STAGING_POST_ROW_MAPPER);
+            return jdbcTemplate.query(FIND_BY_USER_AND_QUEUE_IDS_SQL, STAGING_POST_ROW_MAPPER, username, bigintArray(queueIds));
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findByUserAndQueueIds", e.getMessage(), username, queueIds);
+        }
+    }
+
+    private static final String STAGING_POST_SUMMARY_COLUMNS =
+            "s.id," +
+                    "s.queue_id," +
+                    "s.subscription_id," +
+                    "s.post_title," +
+                    "s.post_url," +
+                    "s.post_img_url," +
+                    "s.post_img_transport_ident," +
+                    "s.import_timestamp," +
+                    "s.publish_timestamp," +
+                    "s.last_updated_timestamp," +
+                    "s.post_read_status," +
+                    "s.post_pub_status," +
+                    "s.is_published," +
+                    "s.is_archived";
+
+    private static final String FIND_SUMMARIES_BY_USER_SQL = "select " + STAGING_POST_SUMMARY_COLUMNS + " from staging_posts s " +
+            "join queue_definitions f on f.id = s.queue_id " +
+            "where (s.is_archived is false) " +
+            "and f.username = ? " +
+            "and f.is_deleted is false";
+
+    /**
+     * Retrieves a list of staging post summaries for a specific user.  Unlike findByUser, only the columns needed
+     * by list views are fetched, and the heavy JSON columns are not decoded.
+     *
+     * @param username The username of the user.
+     * @return A list of staging post summaries for the user.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPostSummary> findSummariesByUser(String username) throws DataAccessException {
+        try {
+            return jdbcTemplate.query(FIND_SUMMARIES_BY_USER_SQL, STAGING_POST_SUMMARY_ROW_MAPPER, username);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findSummariesByUser", e.getMessage(), username);
+        }
+    }
+
+    private static final String FIND_SUMMARIES_BY_USER_AND_QUEUE_ID_SQL = FIND_SUMMARIES_BY_USER_SQL + " and s.queue_id = ?";
+
+    /**
+     * Retrieves a list of staging post summaries for a specific user and queue.
+     *
+     * @param username The username of the user.
+     * @param queueId  The ID of the queue.
+     * @return A list of staging post summaries for the user and specified queue.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPostSummary> findSummariesByUserAndQueueId(String username, Long queueId) throws DataAccessException {
+        try {
+            return jdbcTemplate.query(FIND_SUMMARIES_BY_USER_AND_QUEUE_ID_SQL, STAGING_POST_SUMMARY_ROW_MAPPER, username, queueId);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findSummariesByUserAndQueueId", e.getMessage(), username, queueId);
+        }
+    }
+
+    private static final String FIND_PUBLISHED_SUMMARIES_BY_QUEUE_SQL =
+            "select " + STAGING_POST_SUMMARY_COLUMNS + " from staging_posts s " +
+                    "where s.is_published = true " +
+                    "and (s.post_pub_status is null or s.post_pub_status != 'DEPUB_PENDING') " +
+                    "and s.queue_id = ? and s.username = ?";
+
+    /**
+     * Retrieves a list of published staging post summaries for a specific user and queue.
+     *
+     * @param username The username of the user.
+     * @param queueId  The ID of the queue.
+     * @return A list of published staging post summaries for the user and specified queue.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPostSummary> findPublishedSummariesByQueue(String username, Long queueId) throws DataAccessException {
+        try {
+            return jdbcTemplate.query(FIND_PUBLISHED_SUMMARIES_BY_QUEUE_SQL, STAGING_POST_SUMMARY_ROW_MAPPER, queueId, username);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findPublishedSummariesByQueue", e.getMessage(), username, queueId);
+        }
+    }
+
+    private static final String FIND_BY_USER_AND_SUBSCRIPTION_ID_SQL = "select s.* from staging_posts s " +
+            "join queue_definitions f on f.id = s.queue_id " +
+            "where (s.is_archived is false) " +
+            "and f.username = ? " +
+            "and f.is_deleted is false " +
+            "and s.subscription_id = ?";
+
+    /**
+     * Retrieves a list of staging posts for a specific user and subscription ID.
+     *
+     * @param username       The username of the user.
+     * @param subscriptionId The subscription ID.
+     * @return A list of staging posts for the user and specified subscription ID.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPost> findByUserAndSubscriptionId(String username, Long subscriptionId) throws DataAccessException {
+        try {
+            return jdbcTemplate.query(FIND_BY_USER_AND_SUBSCRIPTION_ID_SQL, new Object[]{ username, subscriptionId }, STAGING_POST_ROW_MAPPER);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findByUserAndSubscriptionId", e.getMessage(), username, subscriptionId);
+        }
+    }
+
+    // Note: served by idx_staging_posts_post_categories (GIN, jsonb_path_ops)
+    private static final String FIND_BY_CATEGORY_SQL = "select s.* from staging_posts s " +
+            "join queue_definitions f on f.id = s.queue_id " +
+            "where s.username = ? " +
+            "and s.is_archived is false " +
+            "and f.is_deleted is false " +
+            "and s.post_categories @> ?::jsonb";
+
+    /**
+     * Retrieves a list of staging posts for a specific user that have the given category.
+     *
+     * @param username The username of the user.
+     * @param category The category to search for (exact match).
+     * @return A list of staging posts for the user that have the given category.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPost> findByCategory(String username, String category) throws DataAccessException {
+        try {
+            String containsJson = STRING_LIST.encode(List.of(category));
+            return jdbcTemplate.query(FIND_BY_CATEGORY_SQL, STAGING_POST_ROW_MAPPER, username, containsJson);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findByCategory", e.getMessage(), username, category);
+        }
+    }
+
+    // Note: served by idx_staging_posts_authors (GIN, jsonb_path_ops)
+    private static final String FIND_BY_AUTHOR_SQL = "select s.* from staging_posts s " +
+            "join queue_definitions f on f.id = s.queue_id " +
+            "where s.username = ? " +
+            "and s.is_archived is false " +
+            "and f.is_deleted is false " +
+            "and s.authors @> ?::jsonb";
+
+    /**
+     * Retrieves a list of staging posts for a specific user that have an author with the given name.
+     *
+     * @param username The username of the user.
+     * @param name     The name of the author to search for (exact match).
+     * @return A list of staging posts for the user that have an author with the given name.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPost> findByAuthor(String username, String name) throws DataAccessException {
+        try {
+            JsonObject author = new JsonObject();
+            author.addProperty("name", name);
+            JsonArray containsJson = new JsonArray(1);
+            containsJson.add(author);
+            return jdbcTemplate.query(FIND_BY_AUTHOR_SQL, STAGING_POST_ROW_MAPPER, username, containsJson.toString());
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findByAuthor", e.getMessage(), username, name);
+        }
+    }
+
+    //
+    // full-text search; the search vector is an expression over post_title, post_desc and post_contents (see the
+    // staging_post_search_vector function in schema.sql.sample), backed by a GIN expression index.  an expression
+    // index is used rather than a stored generated column so that select * queries do not also fetch the vector.
+    // only the id and vector of the matches are materialized, so that ranking them does not evaluate the (costly)
+    // vector expression a second time; the filter stays on the expression itself, so that it can use the index.  the
+    // matches are ranked, and the cursor and limit applied, before the page is joined back to staging_posts
+    //
+
+    private static final String SEARCH_VECTOR_EXPR = "staging_post_search_vector(s.post_title, s.post_desc, s.post_contents)";
+
+    private static final String SEARCH_SQL_TEMPLATE = "with m as materialized (" +
+            "  select s.id, " + SEARCH_VECTOR_EXPR + " as search_vector, q " +
+            "  from staging_posts s, websearch_to_tsquery('english', ?) q " +
+            "  where s.username = ? " +
+            "  and s.is_archived is false " +
+            "  and " + SEARCH_VECTOR_EXPR + " @@ q" +
+            "  %s" +
+            "), r as (" +
+            "  select m.id, ts_rank(m.search_vector, m.q) as search_rank from m" +
+            "), p as (" +
+            "  select r.id, r.search_rank from r " +
+            "  %s" +
+            "  order by r.search_rank desc, r.id desc limit ?" +
+            ") " +
+            "select s.*, p.search_rank from p join staging_posts s on s.id = p.id " +
+            "order by p.search_rank desc, p.id desc";
+
+    private static final String SEARCH_QUEUE_IDS_CLAUSE = " and s.queue_id = any(?)";
+
+    private static final String SEARCH_CURSOR_CLAUSE = "where (r.search_rank, r.id) < (?, ?) ";
+
+    /**
+     * Searches the (unarchived) staging posts of a specific user by full-text query over their titles, descriptions
+     * and contents.  Results are ranked, and paginated by keyset: pass the cursor of the previous page (see
+     * StagingPostSearchPage#getNextCursor) to retrieve the next page.
+     *
+     * @param username The username of the user.
+     * @param query    The search query, in web search syntax (e.g., quoted phrases, -exclusions, or).
+     * @param queueIds The IDs of the queues to search, or null (or empty) to search every queue of the user.
+     * @param limit    The maximum number of posts to return.
+     * @param cursor   The cursor of the previous page, or null to retrieve the first page.
+     * @return A page of ranked search results.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     * @throws IllegalArgumentException If the limit is not positive.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostSearchPage search(String username, String query, List<Long> queueIds, int limit, String cursor) throws DataAccessException {
+        validatePageSize(limit);
+        boolean hasQueueIds = isNotEmpty(queueIds);
+        String sql = String.format(SEARCH_SQL_TEMPLATE,
+                hasQueueIds ? SEARCH_QUEUE_IDS_CLAUSE : EMPTY,
+                null != cursor ? SEARCH_CURSOR_CLAUSE : EMPTY);
+        try {
+            int sepIdx = null == cursor ? -1 : cursor.lastIndexOf(':');
+            Float afterRank = null == cursor ? null : Float.valueOf(cursor.substring(0, sepIdx));
+            Long afterId = null == cursor ? null : Long.valueOf(cursor.substring(sepIdx + 1));
+            List<StagingPost> posts = new ArrayList<>(limit + 1);
+            List<Float> ranks = new ArrayList<>(limit + 1);
+            jdbcTemplate.query(conn -> {
+                PreparedStatement ps = conn.prepareStatement(sql);
+                int idx = 1;
+                ps.setString(idx++, query);
+                ps.setString(idx++, username);
+                if (hasQueueIds) {
+                    setBigintArray(ps, idx++, queueIds);
+                }
+                if (null != afterRank) {
+                    ps.setFloat(idx++, afterRank);
+                    ps.setLong(idx++, afterId);
+                }
+                ps.setInt(idx, limit + 1);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                posts.add(STAGING_POST_ROW_MAPPER.mapRow(rs, rs.getRow()));
+                ranks.add(rs.getFloat("search_rank"));
+            });
+            String nextCursor = null;
+            if (posts.size() > limit) {
+                posts.remove(limit);
+                ranks.remove(limit);
+                nextCursor = ranks.get(limit - 1) + ":" + posts.get(limit - 1).getId();
+            }
+            return StagingPostSearchPage.from(posts, ranks, nextCursor);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "search", e.getMessage(), username, query, queueIds, limit, cursor);
+        }
+    }
+
+    //
+    // change feed; every insert or update of a staging post stamps the post with the ID of the writing transaction
+    // (change_xid, see trg_staging_posts_change_xid), and deletes are recorded in staging_post_tombstones (stamped
+    // likewise) by a trigger on staging_posts.  Changes are paged in (change_xid, id) order, and only up to the xmin
+    // of the current snapshot, i.e., up to the oldest transaction that is still in progress; a transaction below that
+    // watermark can no longer commit a change behind a cursor that has already been issued.
+    //
+
+    private static final String FIND_CHANGE_WATERMARK_SQL = "select cast(pg_snapshot_xmin(pg_current_snapshot()) as text)";
+
+    private static final String FIND_CHANGED_SINCE_SQL =
+            "select s.*, cast(s.change_xid as text) as change_xid_text from staging_posts s " +
+            "where s.username = ? " +
+            "and (s.change_xid, s.id) > (cast(? as xid8), ?) " +
+            "and s.change_xid < cast(? as xid8) " +
+            "order by s.change_xid, s.id limit ?";
+
+    private static final String FIND_DELETED_SINCE_SQL =
+            "select post_id, queue_id, deleted, cast(change_xid as text) as change_xid_text from staging_post_tombstones " +
+            "where username = ? " +
+            "and (change_xid, post_id) > (cast(? as xid8), ?) " +
+            "and change_xid < cast(? as xid8) " +
+            "order by change_xid, post_id limit ?";
+
+    /**
+     * Retrieves the staging posts of a specific user that were created, updated, or deleted after the given cursor,
+     * in change order, up to the given limit.  Pass the cursor of the returned change set to the next call to pull
+     * only the subsequent changes.
+     * <p>
+     * Changes are ordered by the ID of the writing transaction, and a change is returned only once every transaction
+     * that could precede it has finished; thus, a long-running transaction (on any table) delays, but never hides,
+     * the changes that follow it.
+     * <p>
+     * Deletes are reported by tombstone; tombstones are retained for a limited time (see purgeTombstones), thus a
+     * client whose cursor is older than the retention period must resynchronize in full.  Posts removed by dropping
+     * partitions of staging_posts leave no tombstones.
+     *
+     * @param username The username of the user.
+     * @param cursor   The cursor of the previous change set, or null to retrieve all changes from the beginning.
+     * @param limit    The maximum number of changes (updates and deletes, combined) to return.
+     * @return A change set.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     * @throws IllegalArgumentException If the limit is not positive.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostChangeSet findChangedSince(String username, String cursor, int limit) throws DataAccessException {
+        validatePageSize(limit);
+        try {
+            int sepIdx = null == cursor ? -1 : cursor.lastIndexOf('/');
+            long afterXid = null == cursor ? 0L : Long.parseLong(cursor.substring(0, sepIdx));
+            long afterId = null == cursor ? 0L : Long.parseLong(cursor.substring(sepIdx + 1));
+            // both streams are bounded by the same watermark, so that neither runs ahead of the other
+            String watermark = jdbcTemplate.queryForObject(FIND_CHANGE_WATERMARK_SQL, String.class);
+            List<StagingPost> posts = new ArrayList<>(limit + 1);
+            List<Long> postXids = new ArrayList<>(limit + 1);
+            jdbcTemplate.query(FIND_CHANGED_SINCE_SQL, (RowCallbackHandler) rs -> {
+                posts.add(STAGING_POST_ROW_MAPPER.mapRow(rs, rs.getRow()));
+                postXids.add(Long.parseLong(rs.getString("change_xid_text")));
+            }, username, String.valueOf(afterXid), afterId, watermark, limit + 1);
+            List<StagingPostTombstone> tombstones = new ArrayList<>(limit + 1);
+            List<Long> tombstoneXids = new ArrayList<>(limit + 1);
+            jdbcTemplate.query(FIND_DELETED_SINCE_SQL, (RowCallbackHandler) rs -> {
+                tombstones.add(StagingPostTombstone.from(rs.getLong("post_id"), rs.getLong("queue_id"), rs.getTimestamp("deleted")));
+                tombstoneXids.add(Long.parseLong(rs.getString("change_xid_text")));
+            }, username, String.valueOf(afterXid), afterId, watermark, limit + 1);
+            // merge both streams in (change_xid, id) order
+            List<StagingPost> changed = new ArrayList<>(posts.size());
+            List<StagingPostTombstone> deleted = new ArrayList<>(tombstones.size());
+            int p = 0, t = 0;
+            Long lastXid = null;
+            long lastId = afterId;
+            while (changed.size() + deleted.size() < limit && (p < posts.size() || t < tombstones.size())) {
+                boolean takePost = t >= tombstones.size() || (p < posts.size() &&
+                        compareChange(postXids.get(p), posts.get(p).getId(), tombstoneXids.get(t), tombstones.get(t).getPostId()) < 0);
+                if (takePost) {
+                    lastXid = postXids.get(p);
+                    lastId = posts.get(p).getId();
+                    changed.add(posts.get(p++));
+                } else {
+                    lastXid = tombstoneXids.get(t);
+                    lastId = tombstones.get(t).getPostId();
+                    deleted.add(tombstones.get(t++));
+                }
+            }
+            boolean hasMore = p < posts.size() || t < tombstones.size();
+            String nextCursor = null == lastXid ? cursor : lastXid + "/" + lastId;
+            return StagingPostChangeSet.from(changed, deleted, nextCursor, hasMore);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
-            throw new DataAccessException(getClass().getSimpleName(), "findByUserAndQueueIds", e.getMessage(), username, queueIds);
+            throw new DataAccessException(getClass().getSimpleName(), "findChangedSince", e.getMessage(), username, cursor, limit);
         }
     }
 
-    private static final String FIND_BY_USER_AND_SUBSCRIPTION_ID_SQL = "select s.* from staging_posts s " +
-            "join queue_definitions f on f.id = s.queue_id " +
-            "where (s.is_archived is false) " +
-            "and f.username = ? " +
-            "and f.is_deleted is false " +
-            "and s.subscription_id = ?";
+    private static int compareChange(long xid1, long id1, long xid2, long id2) {
+        int c = Long.compare(xid1, xid2);
+        return 0 != c ? c : Long.compare(id1, id2);
+    }
+
+    private static final String PURGE_TOMBSTONES_SQL = "delete from staging_post_tombstones where deleted < ?";
 
     /**
-     * Retrieves a list of staging posts for a specific user and subscription ID.
+     * Purges the staging post tombstones that were recorded before the given cutoff.
      *
-     * @param username       The username of the user.
-     * @param subscriptionId The subscription ID.
-     * @return A list of staging posts for the user and specified subscription ID.
+     * @param cutoff The cutoff date.
+     * @return The number of tombstones purged.
      * @throws DataAccessException If an error occurs while accessing the data.
      */
     @SuppressWarnings("unused")
-    public final List<StagingPost> findByUserAndSubscriptionId(String username, Long subscriptionId) throws DataAccessException {
+    public final int purgeTombstones(Date cutoff) throws DataAccessException {
         try {
-            return jdbcTemplate.query(FIND_BY_USER_AND_SUBSCRIPTION_ID_SQL, new Object[]{ username, subscriptionId }, STAGING_POST_ROW_MAPPER);
+            return jdbcTemplate.update(PURGE_TOMBSTONES_SQL, new Timestamp(cutoff.getTime()));
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
-            throw new DataAccessException(getClass().getSimpleName(), "findByUserAndSubscriptionId", e.getMessage(), username, subscriptionId);
+            throw new DataAccessException(getClass().getSimpleName(), "purgeTombstones", e.getMessage(), cutoff);
         }
     }
 
@@ -646,6 +1720,47 @@ public class StagingPostDao {
         }
     }
 
+    private static final String FIND_ALL_UNPUBLISHED_PAGE_SQL = FIND_ALL_UNPUBLISHED_SQL + " and s.import_timestamp is not null";
+
+    /**
+     * Retrieves a single page of all unpublished staging posts, ordered by import timestamp (newest first).  Posts
+     * without an import timestamp are not returned.
+     *
+     * @param afterImportTimestamp The import timestamp of the cursor (from the previous page), or null for the first page.
+     * @param afterId              The ID of the cursor (from the previous page), or null for the first page.
+     * @param pageSize             The maximum number of posts to return.
+     * @return A page of unpublished staging posts, including the cursor of the next page.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     * @throws IllegalArgumentException If the page size is not positive.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostPage findAllUnpublished(Date afterImportTimestamp, Long afterId, int pageSize) throws DataAccessException {
+        validatePageSize(pageSize);
+        try {
+            return findPage(FIND_ALL_UNPUBLISHED_PAGE_SQL, afterImportTimestamp, afterId, pageSize);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findAllUnpublished", e.getMessage(), afterImportTimestamp, afterId, pageSize);
+        }
+    }
+
+    /**
+     * Streams all unpublished staging posts using a server-side cursor.  The caller must consume the stream
+     * within a transaction, and must close the stream to release the underlying connection.
+     *
+     * @return A stream of all unpublished staging posts.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final Stream<StagingPost> streamAllUnpublished() throws DataAccessException {
+        try {
+            return queryForStream(FIND_ALL_UNPUBLISHED_SQL);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "streamAllUnpublished", e.getMessage());
+        }
+    }
+
     private static final String FIND_UNPUBLISHED_BY_USER_SQL = "select s.* from staging_posts s " +
             "join queue_definitions f on f.id = s.queue_id " +
             "where f.username = ? " +
@@ -707,6 +1822,50 @@ public class StagingPostDao {
         }
     }
 
+    private static final String FIND_PUBLISHED_BY_USER_PAGE_SQL =
+            "select s.* from staging_posts s where s.is_published = true and s.username = ? and s.import_timestamp is not null";
+
+    /**
+     * Retrieves a single page of published staging posts for a specific user, ordered by import timestamp (newest
+     * first).  Posts without an import timestamp are not returned.
+     *
+     * @param username             The username of the user.
+     * @param afterImportTimestamp The import timestamp of the cursor (from the previous page), or null for the first page.
+     * @param afterId              The ID of the cursor (from the previous page), or null for the first page.
+     * @param pageSize             The maximum number of posts to return.
+     * @return A page of published staging posts for the user, including the cursor of the next page.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     * @throws IllegalArgumentException If the page size is not positive.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostPage findPublishedByUser(String username, Date afterImportTimestamp, Long afterId, int pageSize) throws DataAccessException {
+        validatePageSize(pageSize);
+        try {
+            return findPage(FIND_PUBLISHED_BY_USER_PAGE_SQL, afterImportTimestamp, afterId, pageSize, username);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findPublishedByUser", e.getMessage(), username, afterImportTimestamp, afterId, pageSize);
+        }
+    }
+
+    /**
+     * Streams the published staging posts for a specific user using a server-side cursor.  The caller must
+     * consume the stream within a transaction, and must close the stream to release the underlying connection.
+     *
+     * @param username The username of the user.
+     * @return A stream of published staging posts for the user.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final Stream<StagingPost> streamPublishedByUser(String username) throws DataAccessException {
+        try {
+            return queryForStream(FIND_PUBLISHED_BY_USER_SQL, username);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "streamPublishedByUser", e.getMessage(), username);
+        }
+    }
+
     private static final String FIND_PUBLISHED_BY_QUEUE_SQL =
             "select * from staging_posts " +
                     "where is_published = true " +
@@ -731,6 +1890,25 @@ public class StagingPostDao {
         }
     }
 
+    /**
+     * Retrieves a list of published staging posts for a specific user and queue, without decoding their JSON
+     * attributes up front.
+     *
+     * @param username The username of the user.
+     * @param queueId  The ID of the queue.
+     * @return A list of lazily-decoded published staging posts for the user and specified queue.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<LazyStagingPost> findPublishedByQueueLazy(String username, Long queueId) throws DataAccessException {
+        try {
+            return jdbcTemplate.query(FIND_PUBLISHED_BY_QUEUE_SQL, LAZY_STAGING_POST_ROW_MAPPER, queueId, username);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findPublishedByQueueLazy", e.getMessage(), username, queueId);
+        }
+    }
+
     private static final String FIND_BY_ID_SQL = "select * from staging_posts where id = ? and username = ?";
 
     /**
@@ -751,7 +1929,7 @@ public class StagingPostDao {
         }
     }
 
-    private static final String FIND_BY_IDS_SQL_TEMPLATE = "select * from staging_posts where id in (%s) and username = ?";
+    private static final String FIND_BY_IDS_SQL = "select * from staging_posts where id = any(?) and username = ?";
 
     /**
      * Retrieves a list of staging posts by ID for a specific user.
@@ -764,11 +1942,7 @@ public class StagingPostDao {
     @SuppressWarnings("unused")
     public final List<StagingPost> findByIds(String username, List<Long> ids) throws DataAccessException {
         try {
-            String idsClause = ids.stream()
-                    .map(id -> NON_DIGIT.matcher(id.toString()).replaceAll(""))
-                    .collect(joining(","));
-            String sql = String.format(FIND_BY_IDS_SQL_TEMPLATE, idsClause);
-            return jdbcTemplate.query(sql, new Object[] { username }, STAGING_POST_ROW_MAPPER);
+            return jdbcTemplate.query(FIND_BY_IDS_SQL, STAGING_POST_ROW_MAPPER, bigintArray(ids), username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "findByIds", e.getMessage(), username, ids);
@@ -844,7 +2018,7 @@ public class StagingPostDao {
         }
     }
 
-    private static final String MARK_PUB_COMPLETE_BY_ID_SQL = "update staging_posts set post_pub_status = null, is_published = true, last_modified = current_timestamp where id = ? and username = ?";
+    private static final String MARK_PUB_COMPLETE_BY_ID_SQL = "update staging_posts set post_pub_status = null, is_published = true, lease_owner = null, lease_expiry = null, last_modified = current_timestamp where id = ? and username = ?";
 
     /**
      * Marks a staging post as published and complete for a specific user.
@@ -942,7 +2116,151 @@ public class StagingPostDao {
         }
     }
 
-    private static final String UPDATE_POST_PUB_STATUS_BY_ID_SQL_TEMPLATE = "update staging_posts set post_pub_status = '%s', last_modified = current_timestamp where id = ? and username = ?";
+    //
+    // set-based read status updates; rows that already have the target read status are not touched (and are not
+    // counted), and an update that affects no rows is not an error
+    //
+
+    private static final String UPDATE_POST_READ_STATUS_BY_IDS =
+            "update staging_posts set post_read_status = ?, last_modified = current_timestamp " +
+            "where id = any(?) and username = ? and post_read_status is distinct from ?";
+
+    /**
+     * Updates the read status of a collection of staging posts for a specific user, in a single statement.
+     *
+     * @param username   The username of the user.
+     * @param ids        A list of IDs of staging posts to update.
+     * @param postStatus The new read status of the staging posts.
+     * @return The number of staging posts whose read status changed.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final int bulkUpdatePostReadStatus(String username, List<Long> ids, PostReadStatus postStatus) throws DataAccessException {
+        if (isEmpty(ids)) {
+            return 0;
+        }
+        String postStatusName = null == postStatus ? null : postStatus.name();
+        try {
+            return jdbcTemplate.update(conn -> {
+                PreparedStatement ps = conn.prepareStatement(UPDATE_POST_READ_STATUS_BY_IDS);
+                ps.setString(1, postStatusName);
+                setBigintArray(ps, 2, ids);
+                ps.setString(3, username);
+                ps.setString(4, postStatusName);
+                return ps;
+            });
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "bulkUpdatePostReadStatus", e.getMessage(), username, ids, postStatus);
+        }
+    }
+
+    private static void validateImportHorizon(Date importHorizon) {
+        if (null == importHorizon) {
+            throw new IllegalArgumentException("Import horizon must not be null");
+        }
+    }
+
+    private static final String UPDATE_POST_READ_STATUS_BY_QUEUE_ID_BEFORE =
+            "update staging_posts set post_read_status = ?, last_modified = current_timestamp " +
+            "where queue_id = ? and username = ? and import_timestamp <= ? and post_read_status is distinct from ?";
+
+    /**
+     * Updates the read status of the staging posts in a queue that were imported at or before the given horizon,
+     * for a specific user (i.e., "mark everything up to here as read").
+     *
+     * @param username       The username of the user.
+     * @param queueId        The ID of the queue to update staging posts in.
+     * @param importHorizon  The import timestamp horizon (inclusive).
+     * @param postStatus     The new read status of the staging posts.
+     * @return The number of staging posts whose read status changed.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     * @throws IllegalArgumentException If the import horizon is null.
+     */
+    @SuppressWarnings("unused")
+    public final int updateQueueReadStatus(String username, long queueId, Date importHorizon, PostReadStatus postStatus) throws DataAccessException {
+        validateImportHorizon(importHorizon);
+        String postStatusName = null == postStatus ? null : postStatus.name();
+        try {
+            return jdbcTemplate.update(UPDATE_POST_READ_STATUS_BY_QUEUE_ID_BEFORE,
+                    postStatusName, queueId, username, new Timestamp(importHorizon.getTime()), postStatusName);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "updateQueueReadStatus", e.getMessage(), username, queueId, importHorizon, postStatus);
+        }
+    }
+
+    private static final String UPDATE_POST_READ_STATUS_BY_QUEUE_IDS =
+            "with updated as (" +
+            "  update staging_posts set post_read_status = ?, last_modified = current_timestamp " +
+            "  where queue_id = any(?) and username = ? " +
+            "  and (cast(? as timestamptz) is null or import_timestamp <= ?) " +
+            "  and post_read_status is distinct from ? " +
+            "  returning queue_id" +
+            ") select queue_id, count(*) as row_ct from updated group by queue_id";
+
+    /**
+     * Updates the read status of the staging posts in multiple queues for a specific user, in a single statement,
+     * optionally limited to the posts that were imported at or before the given horizon.
+     *
+     * @param username      The username of the user.
+     * @param queueIds      The IDs of the queues to update staging posts in.
+     * @param importHorizon The import timestamp horizon (inclusive), or null to update every post in the queues.
+     * @param postStatus    The new read status of the staging posts.
+     * @return A map of queue ID to the number of staging posts in that queue whose read status changed; queues in
+     * which no post changed are absent.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final Map<Long, Integer> updateQueuesReadStatus(String username, List<Long> queueIds, Date importHorizon, PostReadStatus postStatus) throws DataAccessException {
+        Map<Long, Integer> rowCts = new HashMap<>();
+        if (isEmpty(queueIds)) {
+            return rowCts;
+        }
+        String postStatusName = null == postStatus ? null : postStatus.name();
+        Timestamp horizon = null == importHorizon ? null : new Timestamp(importHorizon.getTime());
+        try {
+            jdbcTemplate.query(conn -> {
+                PreparedStatement ps = conn.prepareStatement(UPDATE_POST_READ_STATUS_BY_QUEUE_IDS);
+                ps.setString(1, postStatusName);
+                setBigintArray(ps, 2, queueIds);
+                ps.setString(3, username);
+                ps.setTimestamp(4, horizon);
+                ps.setTimestamp(5, horizon);
+                ps.setString(6, postStatusName);
+                return ps;
+            }, (RowCallbackHandler) rs -> rowCts.put(rs.getLong("queue_id"), rs.getInt("row_ct")));
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "updateQueuesReadStatus", e.getMessage(), username, queueIds, importHorizon, postStatus);
+        }
+
+        return rowCts;
+    }
+
+    private static final String NOTIFY_PUB_STATUS_SQL =
+            "select pg_notify('" + StagingPostPubStatusListener.PUB_STATUS_CHANNEL + "', q::text) from unnest(?) q";
+
+    /**
+     * Signals listeners (see StagingPostPubStatusListener) that posts in the given queues moved into PUB_PENDING or
+     * DEPUB_PENDING.  Notifications are delivered when the current transaction commits; other status changes are
+     * not signalled.  Failure to notify is logged, but is not fatal, as listeners fall back to polling.
+     */
+    private void notifyPubStatusChanged(PostPubStatus postStatus, Collection<Long> queueIds) {
+        if (!(PostPubStatus.PUB_PENDING == postStatus || PostPubStatus.DEPUB_PENDING == postStatus) || isEmpty(queueIds)) {
+            return;
+        }
+        Collection<Long> distinctQueueIds = new HashSet<>(queueIds);
+        try {
+            jdbcTemplate.query(NOTIFY_PUB_STATUS_SQL, (RowCallbackHandler) rs -> {}, bigintArray(distinctQueueIds));
+        } catch (Exception e) {
+            log.warn("Unable to signal publication status change due to: {}, postStatus={}, queueIds={}", e.getMessage(), postStatus, queueIds);
+        }
+    }
+
+    private static final String UPDATE_POST_PUB_STATUS_BY_ID_SQL_TEMPLATE = "update staging_posts set post_pub_status = '%s', last_modified = current_timestamp where id = ? and username = ? returning queue_id";
+
+    private static final String UPDATE_POST_PUB_STATUS_BY_IDS_SQL_TEMPLATE = "update staging_posts set post_pub_status = '%s', last_modified = current_timestamp where id = any(?) and username = ? returning id, queue_id";
 
     /**
      * Updates the publication status of a staging post for a specific user.
@@ -958,7 +2276,9 @@ public class StagingPostDao {
         int rowsUpdated;
         try {
             String sql = String.format(UPDATE_POST_PUB_STATUS_BY_ID_SQL_TEMPLATE, postStatus.name());
-            rowsUpdated = jdbcTemplate.update(sql, id, username);
+            List<Long> queueIds = jdbcTemplate.queryForList(sql, Long.class, id, username);
+            rowsUpdated = queueIds.size();
+            notifyPubStatusChanged(postStatus, queueIds);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updatePostPubStatus", e.getMessage(), username, id, postStatus);
@@ -979,18 +2299,39 @@ public class StagingPostDao {
      */
     @SuppressWarnings("unused")
     public final void updatePostPubStatus(String username, List<Long> ids, PostPubStatus postStatus) throws DataAccessException, DataUpdateException {
-        int rowsUpdated;
+        bulkUpdatePostPubStatus(username, ids, postStatus);
+    }
+
+    /**
+     * Updates the publication status of a collection staging posts for a specific user, in a single statement.
+     *
+     * @param username   The username of the user.
+     * @param ids        A list of IDs of staging posts to update.
+     * @param postStatus The new publication status of the staging post.
+     * @return The IDs of the staging posts that were updated.
+     * @throws DataAccessException    If an error occurs while accessing the data.
+     * @throws DataUpdateException   If an error occurs during the data update operation.
+     */
+    @SuppressWarnings("unused")
+    public final List<Long> bulkUpdatePostPubStatus(String username, List<Long> ids, PostPubStatus postStatus) throws DataAccessException, DataUpdateException {
+        List<Long> updatedIds = new ArrayList<>(size(ids));
         try {
-            List<Object[]> params = ids.stream().map(id -> new Object[]{id, username}).collect(toList());
-            String sql = String.format(UPDATE_POST_PUB_STATUS_BY_ID_SQL_TEMPLATE, postStatus.name());
-            rowsUpdated = stream(jdbcTemplate.batchUpdate(sql, params)).sum();
+            String sql = String.format(UPDATE_POST_PUB_STATUS_BY_IDS_SQL_TEMPLATE, postStatus.name());
+            Set<Long> queueIds = new HashSet<>();
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                updatedIds.add(rs.getLong("id"));
+                queueIds.add(rs.getLong("queue_id"));
+            }, bigintArray(ids), username);
+            notifyPubStatusChanged(postStatus, queueIds);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
-            throw new DataAccessException(getClass().getSimpleName(), "updatePostPubStatus", e.getMessage(), username, ids, postStatus);
+            throw new DataAccessException(getClass().getSimpleName(), "bulkUpdatePostPubStatus", e.getMessage(), username, ids, postStatus);
         }
-        if (!(0 < rowsUpdated)) {
-            throw new DataUpdateException(getClass().getSimpleName(), "updatePostPubStatus", username, ids, postStatus);
+        if (updatedIds.isEmpty()) {
+            throw new DataUpdateException(getClass().getSimpleName(), "bulkUpdatePostPubStatus", username, ids, postStatus);
         }
+
+        return updatedIds;
     }
 
     private static final String UPDATE_POST_PUB_STATUS_BY_QUEUE_ID = "update staging_posts set post_pub_status = ?, last_modified = current_timestamp where queue_id = ? and username = ? and post_pub_status is not null";
@@ -1006,14 +2347,59 @@ public class StagingPostDao {
     @SuppressWarnings("unused")
     public final void updateQueuePubStatus(String username, long id, PostPubStatus postStatus) throws DataAccessException {
         try {
-            jdbcTemplate.update(UPDATE_POST_PUB_STATUS_BY_QUEUE_ID, null == postStatus ? null : postStatus.name(), id, username);
+            int rowsUpdated = jdbcTemplate.update(UPDATE_POST_PUB_STATUS_BY_QUEUE_ID, null == postStatus ? null : postStatus.name(), id, username);
+            if (0 < rowsUpdated) {
+                notifyPubStatusChanged(postStatus, List.of(id));
+            }
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updateQueuePubStatus", e.getMessage(), username, id, postStatus);
         }
     }
 
-    private static final String UPDATE_POST_BY_ID_TEMPLATE = "update staging_posts set %s where id = ? and username = ?";
+    private static final String UPDATE_POST_BY_ID_TEMPLATE = "update staging_posts set %s, last_modified = current_timestamp where id = ? and username = ?";
+
+    // the columns of updatePost, in bit (and argument) order; the simple columns precede the JSON columns
+    private static final List<String> UPDATE_POST_COLUMNS = List.of(
+            "post_url", "post_img_url", "post_img_transport_ident", "post_comment", "post_rights", "expiration_timestamp",
+            "post_title", "post_desc", "post_contents", "post_media", "post_itunes", "post_urls", "post_categories",
+            "contributors", "authors", "enclosures");
+
+    private static final int UPDATE_POST_SIMPLE_COLUMN_CT = 6;
+
+    private static final long UPDATE_POST_MERGE_BIT = 1L << UPDATE_POST_COLUMNS.size();
+
+    private static long updatePostBit(String column) {
+        return 1L << UPDATE_POST_COLUMNS.indexOf(column);
+    }
+
+    private static List<String> updatePostColumns(long mask) {
+        List<String> columns = new ArrayList<>(UPDATE_POST_COLUMNS.size());
+        for (int i = 0; i < UPDATE_POST_COLUMNS.size(); i++) {
+            if (0L != (mask & (1L << i))) {
+                columns.add(UPDATE_POST_COLUMNS.get(i));
+            }
+        }
+        return columns;
+    }
+
+    private static String buildUpdatePostSql(long mask) {
+        boolean mergeUpdate = 0L != (mask & UPDATE_POST_MERGE_BIT);
+        Collection<String> assignments = new ArrayList<>(UPDATE_POST_COLUMNS.size());
+        for (int i = 0; i < UPDATE_POST_COLUMNS.size(); i++) {
+            if (0L != (mask & (1L << i))) {
+                String column = UPDATE_POST_COLUMNS.get(i);
+                if (i < UPDATE_POST_SIMPLE_COLUMN_CT) {
+                    assignments.add(column + "=?");
+                } else if (JSONB_COLUMNS.contains(column)) {
+                    assignments.add(jsonbAssignment(mergeUpdate, column));
+                } else {
+                    assignments.add(column + "=?::json");
+                }
+            }
+        }
+        return String.format(UPDATE_POST_BY_ID_TEMPLATE, String.join(",", assignments));
+    }
 
     /**
      * Updates a staging post with various attributes.
@@ -1049,120 +2435,116 @@ public class StagingPostDao {
     {
         // assemble update statement arguments
         Collection<Object> updateArgs = new ArrayList<>(18);
+        // the bitmask of the columns to update (in the same order as the arguments), which keys the statement text
+        long updateMask = 0L;
         //
         // start with simple attributes
         //
-        Collection<String> simpleUpdateAttrs = new ArrayList<>(6);
         if (null != postUrl) {
             updateArgs.add(postUrl);
-            simpleUpdateAttrs.add("post_url");
+            updateMask |= updatePostBit("post_url");
         }
         if (null != postImgUrl) {
             //
             updateArgs.add(postImgUrl);
-            simpleUpdateAttrs.add("post_img_url");
+            updateMask |= updatePostBit("post_img_url");
             //
             try {
                 MessageDigest md = MessageDigest.getInstance("MD5");
                 updateArgs.add(computeThumbnailHash(md, postImgUrl));
-                simpleUpdateAttrs.add("post_img_transport_ident");
+                updateMask |= updatePostBit("post_img_transport_ident");
             } catch (NoSuchAlgorithmException ignored) {
                 // ignored
             }
         }
         if (null != postComment) {
             updateArgs.add(postComment);
-            simpleUpdateAttrs.add("post_comment");
+            updateMask |= updatePostBit("post_comment");
         }
         if (null != postRights) {
             updateArgs.add(postRights);
-            simpleUpdateAttrs.add("post_rights");
+            updateMask |= updatePostBit("post_rights");
         }
         // expiration timestamp
         if (null != expirationTimestamp) {
             updateArgs.add(expirationTimestamp);
-            simpleUpdateAttrs.add("expiration_timestamp");
+            updateMask |= updatePostBit("expiration_timestamp");
         }
         //
         // now JSON attributes
         //
-        Collection<String> jsonUpdateAttrs = new ArrayList<>(10);
         // post_title
         if (null != postTitle) {
-            updateArgs.add(GSON.toJson(postTitle));
-            jsonUpdateAttrs.add("post_title");
+            updateArgs.add(CONTENT_OBJECT.encode(postTitle));
+            updateMask |= updatePostBit("post_title");
         }
         // post_desc
         if (null != postDesc) {
-            updateArgs.add(GSON.toJson(postDesc));
-            jsonUpdateAttrs.add("post_desc");
+            updateArgs.add(CONTENT_OBJECT.encode(postDesc));
+            updateMask |= updatePostBit("post_desc");
         }
         // post_contents
         if (null != postContents) {
-            updateArgs.add(GSON.toJson(postContents));
-            jsonUpdateAttrs.add("post_contents");
+            updateArgs.add(CONTENT_OBJECT_LIST.encode(postContents));
+            updateMask |= updatePostBit("post_contents");
         }
         // post_media
         if (null != postMedia) {
-            updateArgs.add(GSON.toJson(postMedia));
-            jsonUpdateAttrs.add("post_media");
+            updateArgs.add(POST_MEDIA.encode(postMedia));
+            updateMask |= updatePostBit("post_media");
         }
         // post_itunes
         if (null != postITunes) {
-            updateArgs.add(GSON.toJson(postITunes));
-            jsonUpdateAttrs.add("post_itunes");
+            updateArgs.add(POST_ITUNES.encode(postITunes));
+            updateMask |= updatePostBit("post_itunes");
         }
         // post_urls
         if (null != postUrls) {
-            updateArgs.add(GSON.toJson(postUrls));
-            jsonUpdateAttrs.add("post_urls");
+            updateArgs.add(POST_URL_LIST.encode(postUrls));
+            updateMask |= updatePostBit("post_urls");
         }
         // post_categories
         if (null != postCategories) {
-            updateArgs.add(GSON.toJson(postCategories));
-            jsonUpdateAttrs.add("post_categories");
+            updateArgs.add(STRING_LIST.encode(postCategories));
+            updateMask |= updatePostBit("post_categories");
         }
         // contributors
         if (null != contributors) {
-            updateArgs.add(GSON.toJson(contributors));
-            jsonUpdateAttrs.add("contributors");
+            updateArgs.add(POST_PERSON_LIST.encode(contributors));
+            updateMask |= updatePostBit("contributors");
         }
         // authors
         if (null != authors) {
-            updateArgs.add(GSON.toJson(authors));
-            jsonUpdateAttrs.add("authors");
+            updateArgs.add(POST_PERSON_LIST.encode(authors));
+            updateMask |= updatePostBit("authors");
         }
         // enclosures
         if (null != enclosures) {
-            updateArgs.add(GSON.toJson(enclosures));
-            jsonUpdateAttrs.add("enclosures");
+            updateArgs.add(POST_ENCLOSURE_LIST.encode(enclosures));
+            updateMask |= updatePostBit("enclosures");
         }
         updateArgs.add(id);
         updateArgs.add(username);
-        // assemble the final update statement
-        Collection<String> allUpdateAttrs = new ArrayList<>(24);
-        allUpdateAttrs.addAll(simpleUpdateAttrs.stream().map(attr -> attr + "=?").toList());
-        allUpdateAttrs.addAll(jsonUpdateAttrs.stream().map(attr -> attr + "=?::json").toList());
-        if (isNotEmpty(allUpdateAttrs)) {
-            String updateClause = String.join(",", allUpdateAttrs);
-            updateClause = updateClause + ", last_modified = current_timestamp ";
-            String updateSql = String.format(UPDATE_POST_BY_ID_TEMPLATE, updateClause);
+        if (0L != updateMask) {
+            // assemble the final update statement
+            long templateMask = mergeUpdate ? updateMask | UPDATE_POST_MERGE_BIT : updateMask;
+            String updateSql = sqlTemplateCache.get("StagingPostDao.updatePost", templateMask, StagingPostDao::buildUpdatePostSql);
             // perform the update
             int rowsUpdated;
             try {
                 rowsUpdated = jdbcTemplate.update(updateSql, updateArgs.toArray());
             } catch (Exception e) {
                 log.error("Something horrible happened due to: {}", e.getMessage());
-                throw new DataAccessException(getClass().getSimpleName(), "updatePost attrs=" + simpleUpdateAttrs, e.getMessage(), updateArgs.toArray());
+                throw new DataAccessException(getClass().getSimpleName(), "updatePost attrs=" + updatePostColumns(updateMask), e.getMessage(), updateArgs.toArray());
             }
             // check the result
             if (!(0 < rowsUpdated)) {
-                throw new DataUpdateException(getClass().getSimpleName(), "updatePost attrs=" + simpleUpdateAttrs, updateArgs.toArray());
+                throw new DataUpdateException(getClass().getSimpleName(), "updatePost attrs=" + updatePostColumns(updateMask), updateArgs.toArray());
             }
         }
     }
 
-    private static final String UPDATE_POST_TITLE_BY_ID = "update staging_posts set post_title = ?::json, last_modified = current_timestamp where id = ? and username = ?";
+    private static final String UPDATE_POST_TITLE_BY_ID_TEMPLATE = "update staging_posts set %s, last_modified = current_timestamp where id = ? and username = ?";
 
     /**
      * Updates the title of a staging post.
@@ -1178,7 +2560,8 @@ public class StagingPostDao {
     public final void updatePostTitle(boolean mergeUpdate, String username, long id, ContentObject postTitle) throws DataAccessException, DataUpdateException {
         int rowsUpdated;
         try {
-            rowsUpdated = jdbcTemplate.update(UPDATE_POST_TITLE_BY_ID, null == postTitle ? null : GSON.toJson(postTitle), id, username);
+            String sql = String.format(UPDATE_POST_TITLE_BY_ID_TEMPLATE, jsonbAssignment(mergeUpdate, "post_title"));
+            rowsUpdated = jdbcTemplate.update(sql, null == postTitle ? null : CONTENT_OBJECT.encode(postTitle), id, username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updatePostTitle", e.getMessage(), username, id, postTitle);
@@ -1188,7 +2571,7 @@ public class StagingPostDao {
         }
     }
 
-    private static final String UPDATE_POST_DESC_BY_ID = "update staging_posts set post_desc = ?::json, last_modified = current_timestamp where id = ? and username = ?";
+    private static final String UPDATE_POST_DESC_BY_ID_TEMPLATE = "update staging_posts set %s, last_modified = current_timestamp where id = ? and username = ?";
 
     /**
      * Updates the description of a staging post.
@@ -1204,7 +2587,8 @@ public class StagingPostDao {
     public final void updatePostDesc(boolean mergeUpdate, String username, long id, ContentObject postDesc) throws DataAccessException, DataUpdateException {
         int rowsUpdated;
         try {
-            rowsUpdated = jdbcTemplate.update(UPDATE_POST_DESC_BY_ID, null == postDesc ? null : GSON.toJson(postDesc), id, username);
+            String sql = String.format(UPDATE_POST_DESC_BY_ID_TEMPLATE, jsonbAssignment(mergeUpdate, "post_desc"));
+            rowsUpdated = jdbcTemplate.update(sql, null == postDesc ? null : CONTENT_OBJECT.encode(postDesc), id, username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updatePostDesc", e.getMessage(), username, id, postDesc);
@@ -1214,7 +2598,7 @@ public class StagingPostDao {
         }
     }
 
-    private static final String UPDATE_POST_ITUNES_BY_ID = "update staging_posts set post_itunes = ?::json, last_modified = current_timestamp where id = ? and username = ?";
+    private static final String UPDATE_POST_ITUNES_BY_ID_TEMPLATE = "update staging_posts set %s, last_modified = current_timestamp where id = ? and username = ?";
 
     /**
      * Updates the iTunes descriptor of a staging post.
@@ -1230,7 +2614,8 @@ public class StagingPostDao {
     public final void updatePostITunes(boolean mergeUpdate, String username, long id, PostITunes postITunes) throws DataAccessException, DataUpdateException {
         int rowsUpdated;
         try {
-            rowsUpdated = jdbcTemplate.update(UPDATE_POST_ITUNES_BY_ID, null == postITunes ? null : GSON.toJson(postITunes), id, username);
+            String sql = String.format(UPDATE_POST_ITUNES_BY_ID_TEMPLATE, jsonbAssignment(mergeUpdate, "post_itunes"));
+            rowsUpdated = jdbcTemplate.update(sql, null == postITunes ? null : POST_ITUNES.encode(postITunes), id, username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updatePostITunes", e.getMessage(), username, id, postITunes);
@@ -1330,7 +2715,7 @@ public class StagingPostDao {
     public final void updatePostContents(String username, long id, List<ContentObject> postContents) throws DataAccessException, DataUpdateException {
         int rowsUpdated;
         try {
-            rowsUpdated = jdbcTemplate.update(UPDATE_POST_CONTENTS_BY_ID, null == postContents ? null : GSON.toJson(postContents), id, username);
+            rowsUpdated = jdbcTemplate.update(UPDATE_POST_CONTENTS_BY_ID, null == postContents ? null : CONTENT_OBJECT_LIST.encode(postContents), id, username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updatePostContents", e.getMessage(), username, id, postContents);
@@ -1355,7 +2740,7 @@ public class StagingPostDao {
     public final void updatePostUrls(String username, long id, List<PostUrl> postUrls) throws DataAccessException, DataUpdateException {
         int rowsUpdated;
         try {
-            rowsUpdated = jdbcTemplate.update(UPDATE_POST_URLS_BY_ID, null == postUrls ? null : GSON.toJson(postUrls), id, username);
+            rowsUpdated = jdbcTemplate.update(UPDATE_POST_URLS_BY_ID, null == postUrls ? null : POST_URL_LIST.encode(postUrls), id, username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updatePostUrls", e.getMessage(), username, id, postUrls);
@@ -1365,7 +2750,7 @@ public class StagingPostDao {
         }
     }
 
-    private static final String UPDATE_CONTRIBUTORS_BY_ID = "update staging_posts set contributors = ?::json, last_modified = current_timestamp where id = ? and username = ?";
+    private static final String UPDATE_CONTRIBUTORS_BY_ID = "update staging_posts set contributors = ?::jsonb, last_modified = current_timestamp where id = ? and username = ?";
 
     /**
      * Updates the contributors of a staging post.
@@ -1380,7 +2765,7 @@ public class StagingPostDao {
     public final void updateContributors(String username, long id, List<PostPerson> contributors) throws DataAccessException, DataUpdateException {
         int rowsUpdated;
         try {
-            rowsUpdated = jdbcTemplate.update(UPDATE_CONTRIBUTORS_BY_ID, null == contributors ? null : GSON.toJson(contributors), id, username);
+            rowsUpdated = jdbcTemplate.update(UPDATE_CONTRIBUTORS_BY_ID, null == contributors ? null : POST_PERSON_LIST.encode(contributors), id, username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updateContributors", e.getMessage(), username, id, contributors);
@@ -1390,7 +2775,7 @@ public class StagingPostDao {
         }
     }
 
-    private static final String UPDATE_AUTHORS_BY_ID = "update staging_posts set authors = ?::json, last_modified = current_timestamp where id = ? and username = ?";
+    private static final String UPDATE_AUTHORS_BY_ID = "update staging_posts set authors = ?::jsonb, last_modified = current_timestamp where id = ? and username = ?";
 
     /**
      * Updates the authors of a staging post.
@@ -1405,7 +2790,7 @@ public class StagingPostDao {
     public final void updateAuthors(String username, long id, List<PostPerson> authors) throws DataAccessException, DataUpdateException {
         int rowsUpdated;
         try {
-            rowsUpdated = jdbcTemplate.update(UPDATE_AUTHORS_BY_ID, null == authors ? null : GSON.toJson(authors), id, username);
+            rowsUpdated = jdbcTemplate.update(UPDATE_AUTHORS_BY_ID, null == authors ? null : POST_PERSON_LIST.encode(authors), id, username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updateAuthors", e.getMessage(), username, id, authors);
@@ -1415,7 +2800,7 @@ public class StagingPostDao {
         }
     }
 
-    private static final String UPDATE_POST_ENCLOSURES_BY_ID = "update staging_posts set enclosures = ?::json, last_modified = current_timestamp where id = ? and username = ?";
+    private static final String UPDATE_POST_ENCLOSURES_BY_ID = "update staging_posts set enclosures = ?::jsonb, last_modified = current_timestamp where id = ? and username = ?";
 
     /**
      * Updates the enclosures of a staging post.
@@ -1430,7 +2815,7 @@ public class StagingPostDao {
     public final void updatePostEnclosures(String username, long id, List<PostEnclosure> enclosures) throws DataAccessException, DataUpdateException {
         int rowsUpdated;
         try {
-            rowsUpdated = jdbcTemplate.update(UPDATE_POST_ENCLOSURES_BY_ID, null == enclosures ? null : GSON.toJson(enclosures), id, username);
+            rowsUpdated = jdbcTemplate.update(UPDATE_POST_ENCLOSURES_BY_ID, null == enclosures ? null : POST_ENCLOSURE_LIST.encode(enclosures), id, username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updatePostEnclosures", e.getMessage(), username, id, enclosures);
@@ -1440,7 +2825,7 @@ public class StagingPostDao {
         }
     }
 
-    private static final String UPDATE_POST_MEDIA_BY_ID = "update staging_posts set post_media = ?::json, last_modified = current_timestamp where id = ? and username = ?";
+    private static final String UPDATE_POST_MEDIA_BY_ID_TEMPLATE = "update staging_posts set %s, last_modified = current_timestamp where id = ? and username = ?";
 
     /**
      * Updates the media descriptor of a staging post.
@@ -1456,7 +2841,8 @@ public class StagingPostDao {
     public final void updatePostMedia(boolean mergeUpdate, String username, long id, PostMedia postMedia) throws DataAccessException, DataUpdateException {
         int rowsUpdated;
         try {
-            rowsUpdated = jdbcTemplate.update(UPDATE_POST_MEDIA_BY_ID, null == postMedia ? null : GSON.toJson(postMedia), id, username);
+            String sql = String.format(UPDATE_POST_MEDIA_BY_ID_TEMPLATE, jsonbAssignment(mergeUpdate, "post_media"));
+            rowsUpdated = jdbcTemplate.update(sql, null == postMedia ? null : POST_MEDIA.encode(postMedia), id, username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updatePostMedia", e.getMessage(), username, id, postMedia);
@@ -1466,7 +2852,7 @@ public class StagingPostDao {
         }
     }
 
-    private static final String UPDATE_POST_CATEGORIES_BY_ID = "update staging_posts set post_categories = ?::json, last_modified = current_timestamp where id = ? and username = ?";
+    private static final String UPDATE_POST_CATEGORIES_BY_ID = "update staging_posts set post_categories = ?::jsonb, last_modified = current_timestamp where id = ? and username = ?";
 
     /**
      * Updates the categories of a staging post.
@@ -1481,7 +2867,7 @@ public class StagingPostDao {
     public final void updatePostCategories(String username, long id, List<String> postCategories) throws DataAccessException, DataUpdateException {
         int rowsUpdated;
         try {
-            rowsUpdated = jdbcTemplate.update(UPDATE_POST_CATEGORIES_BY_ID, null == postCategories ? null : GSON.toJson(postCategories), id, username);
+            rowsUpdated = jdbcTemplate.update(UPDATE_POST_CATEGORIES_BY_ID, null == postCategories ? null : STRING_LIST.encode(postCategories), id, username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "updatePostCategories", e.getMessage(), username, id, postCategories);
@@ -1757,6 +3143,8 @@ public class StagingPostDao {
 
     private static final String ARCHIVE_BY_ID_SQL = "update staging_posts set post_pub_status = 'ARCHIVE', last_modified = current_timestamp where id = ? and username = ?";
 
+    private static final String ARCHIVE_BY_IDS_SQL = "update staging_posts set post_pub_status = 'ARCHIVE', last_modified = current_timestamp where id = any(?) and username = ? returning id";
+
     /**
      * Archives a staging post identified by its ID for a specific user.
      *
@@ -1790,19 +3178,32 @@ public class StagingPostDao {
      */
     @SuppressWarnings("unused")
     public final int archiveByIds(String username, List<Long> ids) throws DataAccessException, DataUpdateException {
-        int rowsUpdated;
+        return bulkArchiveByIds(username, ids).size();
+    }
+
+    /**
+     * Archives staging posts by their IDs for a specific user, in a single statement.
+     *
+     * @param username The username of the user.
+     * @param ids      The list of IDs of staging posts to be archived.
+     * @return The IDs of the staging posts that were archived.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     * @throws DataUpdateException If an error occurs during the data update operation.
+     */
+    @SuppressWarnings("unused")
+    public final List<Long> bulkArchiveByIds(String username, List<Long> ids) throws DataAccessException, DataUpdateException {
+        List<Long> archivedIds;
         try {
-            List<Object[]> params = ids.stream().map(id -> new Object[]{id, username}).collect(toList());
-            rowsUpdated = stream(jdbcTemplate.batchUpdate(ARCHIVE_BY_ID_SQL, params)).sum();
+            archivedIds = jdbcTemplate.query(ARCHIVE_BY_IDS_SQL, (rs, rowNum) -> rs.getLong("id"), bigintArray(ids), username);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
-            throw new DataAccessException(getClass().getSimpleName(), "archiveByIds", e.getMessage(), username, ids);
+            throw new DataAccessException(getClass().getSimpleName(), "bulkArchiveByIds", e.getMessage(), username, ids);
         }
-        if (!(0 < rowsUpdated)) {
-            throw new DataUpdateException(getClass().getSimpleName(), "archiveByIds", username, ids);
+        if (archivedIds.isEmpty()) {
+            throw new DataUpdateException(getClass().getSimpleName(), "bulkArchiveByIds", username, ids);
         }
 
-        return rowsUpdated;
+        return archivedIds;
     }
 
     private static final String PURGE_ARCHIVED_POSTS_SQL_TEMPLATE = "delete from staging_posts where is_archived is true and is_published is false";
@@ -1822,12 +3223,13 @@ public class StagingPostDao {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "purgeArchivedPosts", e.getMessage());
         }
+        hashCache.recordRemovals(rowsUpdated);
 
         return rowsUpdated;
     }
 
     private static final String MARK_IDLE_POSTS_FOR_ARCHIVE_SQL_TEMPLATE = "UPDATE staging_posts " +
-            " SET is_archived = true " +
+            " SET is_archived = true, last_modified = current_timestamp " +
             " WHERE (" +
             "   (post_read_status is null and import_timestamp < current_timestamp - INTERVAL '%s DAYS') or " +
             "   (post_read_status = 'READ' and import_timestamp < current_timestamp - INTERVAL '%s DAYS')" +
@@ -1856,7 +3258,7 @@ public class StagingPostDao {
 
     private static final String MARK_EXPIRED_POSTS_FOR_ARCHIVE_SQL = "WITH expired_staging_posts AS ( " +
             " UPDATE staging_posts " +
-            " SET post_pub_status = 'DEPUB_PENDING', is_archived = true " +
+            " SET post_pub_status = 'DEPUB_PENDING', is_archived = true, last_modified = current_timestamp " +
             " WHERE " +
             "   expiration_timestamp < current_timestamp + INTERVAL '1 MINUTES' " +
             " RETURNING * " +
@@ -1872,18 +3274,256 @@ public class StagingPostDao {
     @SuppressWarnings("unused")
     public final List<StagingPost> markExpiredPostsForArchive() throws DataUpdateException {
         try {
-            return jdbcTemplate.query(MARK_EXPIRED_POSTS_FOR_ARCHIVE_SQL, STAGING_POST_ROW_MAPPER);
+            List<StagingPost> stagingPosts = jdbcTemplate.query(MARK_EXPIRED_POSTS_FOR_ARCHIVE_SQL, STAGING_POST_ROW_MAPPER);
+            notifyPubStatusChanged(PostPubStatus.DEPUB_PENDING, stagingPosts.stream().map(StagingPost::getQueueId).collect(toList()));
+            return stagingPosts;
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataUpdateException(getClass().getSimpleName(), "markExpiredPostsForArchive", e.getMessage());
         }
     }
 
+    //
+    // chunked maintenance jobs; each chunk is a single transaction (a single statement, except for expiry, which also
+    // notifies and hands the chunk to its consumer) that processes up to chunk-size rows in ascending id order, so
+    // that a job never holds one long transaction over the whole table.  a job stops when no rows remain, when its
+    // time budget runs out, or when a chunk fails; in the latter two cases it returns the id of the last row processed
+    // (by the last chunk that succeeded) as a checkpoint, to be passed to the next run
+    //
+
+    @Value("${newsgears.data.staging-posts.maintenance.chunk-size:1000}")
+    int maintenanceChunkSize;
+
+    @Value("${newsgears.data.staging-posts.maintenance.time-budget-ms:60000}")
+    long maintenanceTimeBudgetMs;
+
+    @FunctionalInterface
+    private interface ChunkOperation {
+        /**
+         * Processes a single chunk.
+         *
+         * @param afterId   The ID after which to begin processing.
+         * @param chunkSize The maximum number of rows to process.
+         * @return The IDs of the rows that were processed.
+         */
+        List<Long> process(long afterId, int chunkSize);
+    }
+
+    private static void validateChunkSize(int chunkSize) {
+        if (0 >= chunkSize) {
+            throw new IllegalArgumentException("Chunk size must be positive: chunkSize=" + chunkSize);
+        }
+    }
+
+    private static StagingPostChunkedJobResult runChunked(String jobName, int chunkSize, long timeBudgetMs, Long checkpoint, ChunkOperation op) {
+        List<Integer> chunkRowCts = new ArrayList<>();
+        List<Long> chunkElapsedMs = new ArrayList<>();
+        long afterId = ofNullable(checkpoint).orElse(0L);
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        long startNanos = System.nanoTime();
+        boolean completed = false;
+        String failure = null;
+        while (true) {
+            long chunkStartNanos = System.nanoTime();
+            List<Long> ids;
+            try {
+                ids = op.process(afterId, chunkSize);
+            } catch (Exception e) {
+                // the failed chunk was rolled back; keep the checkpoint of the last chunk that succeeded
+                log.error("Staging post maintenance chunk failed, jobName={}, afterId={}, due to: {}", jobName, afterId, e.getMessage());
+                failure = e.getMessage();
+                break;
+            }
+            long elapsedMs = NANOSECONDS.toMillis(System.nanoTime() - chunkStartNanos);
+            chunkRowCts.add(ids.size());
+            chunkElapsedMs.add(elapsedMs);
+            log.debug("Staging post maintenance chunk processed, jobName={}, afterId={}, rowCt={}, elapsedMs={}", jobName, afterId, ids.size(), elapsedMs);
+            if (ids.size() < chunkSize) {
+                completed = true;
+                break;
+            }
+            afterId = Collections.max(ids);
+            if (System.nanoTime() - startNanos >= budgetNanos) {
+                break;
+            }
+        }
+        StagingPostChunkedJobResult result = StagingPostChunkedJobResult.from(jobName, chunkRowCts, chunkElapsedMs, completed, completed ? null : afterId, failure);
+        log.info("Staging post maintenance job finished, jobName={}, chunkCt={}, totalRowCt={}, elapsedMs={}, completed={}, checkpoint={}, failed={}",
+                jobName, result.getChunkCt(), result.getTotalRowCt(), result.getElapsedMs(), completed, result.getCheckpoint(), result.isFailed());
+
+        return result;
+    }
+
+    private static final String PURGE_ARCHIVED_POSTS_CHUNK_SQL = "delete from staging_posts where id in (" +
+            " select id from staging_posts " +
+            " where is_archived is true and is_published is false and id > ? " +
+            " order by id limit ?" +
+            ") returning id";
+
+    /**
+     * Purges archived staging posts in chunks of the configured size
+     * (newsgears.data.staging-posts.maintenance.chunk-size), stopping after the configured time budget
+     * (newsgears.data.staging-posts.maintenance.time-budget-ms).
+     *
+     * @param checkpoint The checkpoint returned by a previous (incomplete) run, or null to start from the beginning.
+     * @return The outcome of the run.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostChunkedJobResult purgeArchivedPosts(Long checkpoint) throws DataAccessException {
+        return purgeArchivedPosts(maintenanceChunkSize, maintenanceTimeBudgetMs, checkpoint);
+    }
+
+    /**
+     * Purges archived staging posts in chunks of the given size, stopping after the given time budget.  Each chunk
+     * is committed on its own.
+     *
+     * @param chunkSize    The maximum number of posts to purge per chunk.
+     * @param timeBudgetMs The time budget of the run, in milliseconds; the run stops after the first chunk that
+     *                     completes past the budget.
+     * @param checkpoint   The checkpoint returned by a previous (incomplete) run, or null to start from the beginning.
+     * @return The outcome of the run; if a chunk fails, the run stops, and its checkpoint is that of the last chunk
+     * that succeeded.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     * @throws IllegalArgumentException If the chunk size is not positive.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostChunkedJobResult purgeArchivedPosts(int chunkSize, long timeBudgetMs, Long checkpoint) throws DataAccessException {
+        validateChunkSize(chunkSize);
+        try {
+            return runChunked("purgeArchivedPosts", chunkSize, timeBudgetMs, checkpoint, (afterId, limit) -> {
+                List<Long> ids = jdbcTemplate.queryForList(PURGE_ARCHIVED_POSTS_CHUNK_SQL, Long.class, afterId, limit);
+                hashCache.recordRemovals(ids.size());
+                return ids;
+            });
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "purgeArchivedPosts", e.getMessage(), chunkSize, timeBudgetMs, checkpoint);
+        }
+    }
+
+    private static final String MARK_IDLE_POSTS_FOR_ARCHIVE_CHUNK_SQL = "update staging_posts set is_archived = true, last_modified = current_timestamp where id in (" +
+            " select id from staging_posts " +
+            " where is_archived is false and (" +
+            "   (post_read_status is null and import_timestamp < current_timestamp - make_interval(days => ?)) or " +
+            "   (post_read_status = 'READ' and import_timestamp < current_timestamp - make_interval(days => ?))" +
+            " ) and id > ? " +
+            " order by id limit ?" +
+            ") returning id";
+
+    /**
+     * Mark idle posts for archival in chunks of the configured size
+     * (newsgears.data.staging-posts.maintenance.chunk-size), stopping after the configured time budget
+     * (newsgears.data.staging-posts.maintenance.time-budget-ms).
+     *
+     * @param maxUnreadAge The maximum age (in days) for unread staging posts.
+     * @param maxReadAge   The maximum age (in days) for read staging posts.
+     * @param checkpoint   The checkpoint returned by a previous (incomplete) run, or null to start from the beginning.
+     * @return The outcome of the run.
+     * @throws DataUpdateException If an error occurs during the data update operation.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostChunkedJobResult markIdlePostsForArchive(int maxUnreadAge, int maxReadAge, Long checkpoint) throws DataUpdateException {
+        return markIdlePostsForArchive(maxUnreadAge, maxReadAge, maintenanceChunkSize, maintenanceTimeBudgetMs, checkpoint);
+    }
+
+    /**
+     * Mark idle posts for archival in chunks of the given size, stopping after the given time budget.  Each chunk
+     * is committed on its own.
+     *
+     * @param maxUnreadAge The maximum age (in days) for unread staging posts.
+     * @param maxReadAge   The maximum age (in days) for read staging posts.
+     * @param chunkSize    The maximum number of posts to mark per chunk.
+     * @param timeBudgetMs The time budget of the run, in milliseconds; the run stops after the first chunk that
+     *                     completes past the budget.
+     * @param checkpoint   The checkpoint returned by a previous (incomplete) run, or null to start from the beginning.
+     * @return The outcome of the run; if a chunk fails, the run stops, and its checkpoint is that of the last chunk
+     * that succeeded.
+     * @throws DataUpdateException If an error occurs during the data update operation.
+     * @throws IllegalArgumentException If the chunk size is not positive.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostChunkedJobResult markIdlePostsForArchive(int maxUnreadAge, int maxReadAge, int chunkSize, long timeBudgetMs, Long checkpoint) throws DataUpdateException {
+        validateChunkSize(chunkSize);
+        try {
+            return runChunked("markIdlePostsForArchive", chunkSize, timeBudgetMs, checkpoint, (afterId, limit) ->
+                    jdbcTemplate.queryForList(MARK_IDLE_POSTS_FOR_ARCHIVE_CHUNK_SQL, Long.class, maxUnreadAge, maxReadAge, afterId, limit));
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataUpdateException(getClass().getSimpleName(), "markIdlePostsForArchive", e.getMessage(), maxUnreadAge, maxReadAge, chunkSize, timeBudgetMs, checkpoint);
+        }
+    }
+
+    private static final String MARK_EXPIRED_POSTS_FOR_ARCHIVE_CHUNK_SQL = "update staging_posts " +
+            " set post_pub_status = 'DEPUB_PENDING', is_archived = true, last_modified = current_timestamp " +
+            " where id in (" +
+            "   select id from staging_posts " +
+            "   where is_archived is false and expiration_timestamp < current_timestamp + INTERVAL '1 MINUTES' and id > ? " +
+            "   order by id limit ?" +
+            " ) returning *";
+
+    /**
+     * Mark expired posts for archival in chunks of the configured size
+     * (newsgears.data.staging-posts.maintenance.chunk-size), stopping after the configured time budget
+     * (newsgears.data.staging-posts.maintenance.time-budget-ms).
+     *
+     * @param chunkConsumer Receives the posts marked by each chunk, before the chunk is committed; if it throws, the
+     *                      chunk is rolled back.
+     * @param checkpoint    The checkpoint returned by a previous (incomplete) run, or null to start from the beginning.
+     * @return The outcome of the run.
+     * @throws DataUpdateException If an error occurs during the data update operation.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostChunkedJobResult markExpiredPostsForArchive(Consumer<? super List<StagingPost>> chunkConsumer, Long checkpoint) throws DataUpdateException {
+        return markExpiredPostsForArchive(chunkConsumer, maintenanceChunkSize, maintenanceTimeBudgetMs, checkpoint);
+    }
+
+    /**
+     * Mark expired posts for archival in chunks of the given size, stopping after the given time budget.  Each chunk
+     * is committed on its own, and the posts that it marked are handed to the given consumer (e.g., for
+     * de-publication) within the chunk's transaction, rather than being accumulated over the whole run.
+     *
+     * @param chunkConsumer Receives the posts marked by each chunk, before the chunk is committed; if it throws, the
+     *                      chunk is rolled back.
+     * @param chunkSize     The maximum number of posts to mark per chunk.
+     * @param timeBudgetMs  The time budget of the run, in milliseconds; the run stops after the first chunk that
+     *                      completes past the budget.
+     * @param checkpoint    The checkpoint returned by a previous (incomplete) run, or null to start from the beginning.
+     * @return The outcome of the run; if a chunk fails, the run stops, and its checkpoint is that of the last chunk
+     * that succeeded.
+     * @throws DataUpdateException If an error occurs during the data update operation.
+     * @throws IllegalArgumentException If the chunk size is not positive.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostChunkedJobResult markExpiredPostsForArchive(Consumer<? super List<StagingPost>> chunkConsumer, int chunkSize, long timeBudgetMs, Long checkpoint) throws DataUpdateException {
+        validateChunkSize(chunkSize);
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            // the update, the notification, and the consumer run in the chunk's transaction, so that a chunk whose
+            // consumer throws is rolled back (and its posts are marked again by the next run)
+            return runChunked("markExpiredPostsForArchive", chunkSize, timeBudgetMs, checkpoint, (afterId, limit) -> transactionTemplate.execute(status -> {
+                List<StagingPost> stagingPosts = jdbcTemplate.query(MARK_EXPIRED_POSTS_FOR_ARCHIVE_CHUNK_SQL, STAGING_POST_ROW_MAPPER, afterId, limit);
+                if (isNotEmpty(stagingPosts)) {
+                    notifyPubStatusChanged(PostPubStatus.DEPUB_PENDING, stagingPosts.stream().map(StagingPost::getQueueId).collect(toList()));
+                    chunkConsumer.accept(stagingPosts);
+                }
+                return stagingPosts.stream().map(StagingPost::getId).collect(toList());
+            }));
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataUpdateException(getClass().getSimpleName(), "markExpiredPostsForArchive", e.getMessage(), chunkSize, timeBudgetMs, checkpoint);
+        }
+    }
+
     @Override
     public final String toString() {
         return "StagingPostDao{" +
                 "jdbcTemplate=" + jdbcTemplate +
+                ", hashCache=" + hashCache +
+                ", sqlTemplateCache=" + sqlTemplateCache +
                 ", STAGING_POST_ROW_MAPPER=" + STAGING_POST_ROW_MAPPER +
+                ", LAZY_STAGING_POST_ROW_MAPPER=" + LAZY_STAGING_POST_ROW_MAPPER +
+                ", STAGING_POST_SUMMARY_ROW_MAPPER=" + STAGING_POST_SUMMARY_ROW_MAPPER +
                 '}';
     }
 }
@@ -0,0 +1,284 @@
+package com.lostsidewalk.buffy.post;
+
+import com.google.common.hash.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.hash.Funnels.stringFunnel;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.collections4.CollectionUtils.isEmpty;
+
+/**
+ * An optional, in-memory cache of staging post hashes, used to de-duplicate posts during import.  The cache
+ * holds a Bloom filter of post_hash values for each queue; each filter is warmed from the staging_posts table
+ * on first use, and kept up to date by the write paths of StagingPostDao.
+ * <p>
+ * A negative answer from a filter is definite, i.e., the hash is known to be absent from the queue, and the
+ * database check may be skipped.  A positive answer must be confirmed against the database.  Bloom filters do
+ * not support removal, thus deleted hashes remain in the filter (yielding false positives) until the filter is
+ * rebuilt.  The unique (queue_id, post_hash) constraint remains the final arbiter of duplication.
+ * <p>
+ * The cache is local to a node: a filter only learns of the posts written through this node (or present when the
+ * filter was warmed).  A negative answer is therefore only definite if every import into the queue goes through
+ * this node; in a multi-node deployment, posts inserted by other nodes are reported as absent, and checkExisting
+ * under-reports them (the insert paths still skip them, as the database enforces uniqueness).  Enable the cache
+ * only on single-node deployments, or where each queue is imported by a single node.
+ * <p>
+ * The cache is disabled by default; enable it with newsgears.data.staging-posts.hash-cache.enabled=true.
+ */
+@Slf4j
+@Component
+public class StagingPostHashCache {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${newsgears.data.staging-posts.hash-cache.enabled:false}")
+    boolean enabled;
+
+    @Value("${newsgears.data.staging-posts.hash-cache.expected-insertions:10000}")
+    int expectedInsertions;
+
+    @Value("${newsgears.data.staging-posts.hash-cache.fpp:0.01}")
+    double fpp;
+
+    // the fraction of removed hashes (relative to cached hashes) at which all filters are discarded and re-warmed
+    @Value("${newsgears.data.staging-posts.hash-cache.max-stale-ratio:0.25}")
+    double maxStaleRatio;
+
+    private final ConcurrentMap<Long, QueueHashFilter> filters = new ConcurrentHashMap<>();
+
+    private final AtomicLong lookupCt = new AtomicLong();
+
+    private final AtomicLong definiteMissCt = new AtomicLong();
+
+    private final AtomicLong falsePositiveCt = new AtomicLong();
+
+    private final AtomicLong staleCt = new AtomicLong();
+
+    /**
+     * Default constructor; initializes the object.
+     */
+    StagingPostHashCache() {
+    }
+
+    private static final class QueueHashFilter {
+
+        BloomFilter<String> filter; // guarded by this; null until warmed
+
+        long capacity;
+    }
+
+    /**
+     * Indicates whether the cache is enabled.
+     *
+     * @return True if the cache is enabled.
+     */
+    @SuppressWarnings("unused")
+    public final boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Determines whether the given hash might exist in the given queue.  If the cache is disabled, this method
+     * always returns true.
+     *
+     * @param queueId  The ID of the queue to check.
+     * @param postHash The post hash to check.
+     * @return False if the hash is definitely absent from the queue; true otherwise.
+     */
+    @SuppressWarnings("unused")
+    public final boolean mightContain(long queueId, String postHash) {
+        return !filterPossiblyExisting(queueId, List.of(postHash)).isEmpty();
+    }
+
+    /**
+     * Filters the given hashes, removing those that are definitely absent from the given queue.  If the cache
+     * is disabled, all hashes are returned.
+     *
+     * @param queueId The ID of the queue to check.
+     * @param hashes  The post hashes to check.
+     * @return The subset of the given hashes that might exist in the queue.
+     */
+    @SuppressWarnings("unused")
+    public final Set<String> filterPossiblyExisting(long queueId, Collection<String> hashes) {
+        if (!enabled || isEmpty(hashes)) {
+            return isEmpty(hashes) ? new HashSet<>(0) : new HashSet<>(hashes);
+        }
+        QueueHashFilter holder = filters.computeIfAbsent(queueId, k -> new QueueHashFilter());
+        Set<String> possiblyExisting = new HashSet<>(hashes.size());
+        synchronized (holder) {
+            if (null == holder.filter) {
+                warm(queueId, holder);
+            }
+            for (String h : hashes) {
+                if (holder.filter.mightContain(h)) {
+                    possiblyExisting.add(h);
+                }
+            }
+        }
+        lookupCt.addAndGet(hashes.size());
+        definiteMissCt.addAndGet(hashes.size() - possiblyExisting.size());
+
+        return possiblyExisting;
+    }
+
+    /**
+     * Records the number of hashes that the cache reported as possibly existing, but that were found to be
+     * absent upon checking the database.
+     *
+     * @param ct The number of false positives.
+     */
+    final void recordFalsePositives(long ct) {
+        if (enabled && 0L < ct) {
+            falsePositiveCt.addAndGet(ct);
+        }
+    }
+
+    /**
+     * Adds the given hash to the filter for the given queue, if that filter has been warmed.
+     *
+     * @param queueId  The ID of the queue.
+     * @param postHash The post hash to add.
+     */
+    final void put(Long queueId, String postHash) {
+        if (!enabled || null == queueId || null == postHash) {
+            return;
+        }
+        QueueHashFilter holder = filters.get(queueId);
+        if (null != holder) {
+            synchronized (holder) {
+                if (null != holder.filter) {
+                    holder.filter.put(postHash);
+                    if (holder.filter.approximateElementCount() > holder.capacity) {
+                        // the filter is saturated; discard it and re-warm on next use
+                        filters.remove(queueId, holder);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards the filter for the given queue; it will be re-warmed on next use.
+     *
+     * @param queueId The ID of the queue.
+     */
+    final void invalidate(Long queueId) {
+        if (enabled && null != queueId) {
+            filters.remove(queueId);
+        }
+    }
+
+    /**
+     * Discards all filters; each will be re-warmed on next use.
+     */
+    final void invalidateAll() {
+        if (enabled) {
+            filters.clear();
+            staleCt.set(0L);
+        }
+    }
+
+    /**
+     * Records that the given number of hashes were removed from the staging_posts table.  Removed hashes remain
+     * in the filters as false positives; once these exceed the configured fraction of cached hashes, all filters
+     * are discarded.
+     *
+     * @param ct The number of removed hashes.
+     */
+    final void recordRemovals(long ct) {
+        if (!enabled || 0L >= ct) {
+            return;
+        }
+        long stale = staleCt.addAndGet(ct);
+        long cached = 0L;
+        for (QueueHashFilter holder : filters.values()) {
+            synchronized (holder) {
+                if (null != holder.filter) {
+                    cached += holder.filter.approximateElementCount();
+                }
+            }
+        }
+        if (stale > cached * maxStaleRatio) {
+            log.debug("Discarding staging post hash filters, staleCt={}, cachedCt={}", stale, cached);
+            filters.clear();
+            staleCt.set(0L);
+        }
+    }
+
+    private static final String COUNT_BY_QUEUE_ID_SQL = "select count(*) from staging_posts where queue_id = ? and post_hash is not null";
+
+    private static final String FIND_HASHES_BY_QUEUE_ID_SQL = "select post_hash from staging_posts where queue_id = ? and post_hash is not null";
+
+    private void warm(long queueId, QueueHashFilter holder) {
+        Long ct = jdbcTemplate.queryForObject(COUNT_BY_QUEUE_ID_SQL, Long.class, queueId);
+        // leave room for growth
+        long capacity = Math.max(expectedInsertions, 2L * (null == ct ? 0L : ct));
+        BloomFilter<String> filter = BloomFilter.create(stringFunnel(UTF_8), capacity, fpp);
+        jdbcTemplate.query(FIND_HASHES_BY_QUEUE_ID_SQL, rs -> {
+            filter.put(rs.getString("post_hash"));
+        }, queueId);
+        holder.filter = filter;
+        holder.capacity = capacity;
+        log.debug("Warmed staging post hash filter, queueId={}, hashCt={}, capacity={}", queueId, ct, capacity);
+    }
+
+    /**
+     * Gets a snapshot of the metrics of this cache.
+     *
+     * @return The current cache metrics.
+     */
+    @SuppressWarnings("unused")
+    public final StagingPostHashCacheMetrics getMetrics() {
+        int queueCt = 0;
+        long memoryBytes = 0L;
+        double expectedFppSum = 0.0;
+        for (QueueHashFilter holder : filters.values()) {
+            synchronized (holder) {
+                if (null != holder.filter) {
+                    queueCt++;
+                    memoryBytes += optimalNumOfBits(holder.capacity, fpp) / 8L;
+                    expectedFppSum += holder.filter.expectedFpp();
+                }
+            }
+        }
+        return StagingPostHashCacheMetrics.from(
+                queueCt,
+                lookupCt.get(),
+                definiteMissCt.get(),
+                falsePositiveCt.get(),
+                0 < queueCt ? expectedFppSum / queueCt : 0.0,
+                memoryBytes
+        );
+    }
+
+    // the number of bits used by a Bloom filter with the given capacity and false-positive probability (cf. Guava)
+    private static long optimalNumOfBits(long n, double p) {
+        return (long) (-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+    }
+
+    // Note: uses the lock-free counters only (cf. getMetrics, which visits every filter under its lock)
+    @Override
+    public final String toString() {
+        return "StagingPostHashCache{" +
+                "enabled=" + enabled +
+                ", expectedInsertions=" + expectedInsertions +
+                ", fpp=" + fpp +
+                ", maxStaleRatio=" + maxStaleRatio +
+                ", queueCt=" + filters.size() +
+                ", lookupCt=" + lookupCt.get() +
+                ", definiteMissCt=" + definiteMissCt.get() +
+                ", falsePositiveCt=" + falsePositiveCt.get() +
+                ", staleCt=" + staleCt.get() +
+                '}';
+    }
+}
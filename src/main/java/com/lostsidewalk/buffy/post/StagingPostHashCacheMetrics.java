@@ -0,0 +1,150 @@
+package com.lostsidewalk.buffy.post;
+
+/**
+ * The StagingPostHashCacheMetrics class is a point-in-time snapshot of the metrics of the staging post hash cache.
+ *
+ * @see StagingPostHashCache#getMetrics()
+ */
+public class StagingPostHashCacheMetrics {
+
+    /**
+     * The number of queues with a warmed filter.
+     */
+    private final int queueCt;
+
+    /**
+     * The number of hashes looked up in the cache.
+     */
+    private final long lookupCt;
+
+    /**
+     * The number of lookups for which the hash was definitely absent, i.e., the database check was skipped.
+     */
+    private final long definiteMissCt;
+
+    /**
+     * The number of lookups for which the hash might have been present, but was found to be absent in the database.
+     */
+    private final long falsePositiveCt;
+
+    /**
+     * The mean expected false-positive probability of the warmed filters.
+     */
+    private final double expectedFpp;
+
+    /**
+     * The estimated memory used by the warmed filters, in bytes.
+     */
+    private final long memoryBytes;
+
+    private StagingPostHashCacheMetrics(int queueCt, long lookupCt, long definiteMissCt, long falsePositiveCt,
+                                        double expectedFpp, long memoryBytes) {
+        this.queueCt = queueCt;
+        this.lookupCt = lookupCt;
+        this.definiteMissCt = definiteMissCt;
+        this.falsePositiveCt = falsePositiveCt;
+        this.expectedFpp = expectedFpp;
+        this.memoryBytes = memoryBytes;
+    }
+
+    /**
+     * Creates a new StagingPostHashCacheMetrics instance.
+     *
+     * @param queueCt         The number of queues with a warmed filter.
+     * @param lookupCt        The number of hashes looked up in the cache.
+     * @param definiteMissCt  The number of lookups for which the hash was definitely absent.
+     * @param falsePositiveCt The number of lookups that were confirmed to be false positives.
+     * @param expectedFpp     The mean expected false-positive probability of the warmed filters.
+     * @param memoryBytes     The estimated memory used by the warmed filters, in bytes.
+     * @return A new StagingPostHashCacheMetrics instance.
+     */
+    static StagingPostHashCacheMetrics from(int queueCt, long lookupCt, long definiteMissCt, long falsePositiveCt,
+                                            double expectedFpp, long memoryBytes) {
+        return new StagingPostHashCacheMetrics(queueCt, lookupCt, definiteMissCt, falsePositiveCt, expectedFpp, memoryBytes);
+    }
+
+    /**
+     * Gets the number of queues with a warmed filter.
+     *
+     * @return The number of queues.
+     */
+    @SuppressWarnings("unused")
+    public final int getQueueCt() {
+        return queueCt;
+    }
+
+    /**
+     * Gets the number of hashes looked up in the cache.
+     *
+     * @return The number of lookups.
+     */
+    @SuppressWarnings("unused")
+    public final long getLookupCt() {
+        return lookupCt;
+    }
+
+    /**
+     * Gets the number of lookups for which the hash was definitely absent.
+     *
+     * @return The number of definite misses.
+     */
+    @SuppressWarnings("unused")
+    public final long getDefiniteMissCt() {
+        return definiteMissCt;
+    }
+
+    /**
+     * Gets the number of lookups that were confirmed to be false positives.
+     *
+     * @return The number of false positives.
+     */
+    @SuppressWarnings("unused")
+    public final long getFalsePositiveCt() {
+        return falsePositiveCt;
+    }
+
+    /**
+     * Gets the observed false-positive rate, i.e., the fraction of absent hashes that the cache reported as
+     * possibly present.
+     *
+     * @return The observed false-positive rate, or 0.0 if no absent hashes have been observed.
+     */
+    @SuppressWarnings("unused")
+    public final double getFalsePositiveRate() {
+        long negativeCt = definiteMissCt + falsePositiveCt;
+        return 0L < negativeCt ? (double) falsePositiveCt / negativeCt : 0.0;
+    }
+
+    /**
+     * Gets the mean expected false-positive probability of the warmed filters.
+     *
+     * @return The expected false-positive probability.
+     */
+    @SuppressWarnings("unused")
+    public final double getExpectedFpp() {
+        return expectedFpp;
+    }
+
+    /**
+     * Gets the estimated memory used by the warmed filters.
+     *
+     * @return The estimated memory use, in bytes.
+     */
+    @SuppressWarnings("unused")
+    public final long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    @Override
+    public final String toString() {
+        return "StagingPostHashCacheMetrics{" +
+                "queueCt=" + queueCt +
+                ", lookupCt=" + lookupCt +
+                ", definiteMissCt=" + definiteMissCt +
+                ", falsePositiveCt=" + falsePositiveCt +
+                ", falsePositiveRate=" + getFalsePositiveRate() +
+                ", expectedFpp=" + expectedFpp +
+                ", memoryBytes=" + memoryBytes +
+                '}';
+    }
+}
@@ -0,0 +1,88 @@
+package com.lostsidewalk.buffy.post;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The StagingPostInsertResult class describes the outcome of a batch insert of staging posts, i.e., which
+ * posts were inserted and which were skipped because a post with the same hash already exists in the queue.
+ *
+ * @see StagingPostDao#addAll(java.util.Collection)
+ */
+public class StagingPostInsertResult {
+
+    /**
+     * The staging posts that were inserted; the ID of each post is set.
+     */
+    private final List<StagingPost> inserted;
+
+    /**
+     * The staging posts that were skipped due to a conflict on (queue_id, post_hash).
+     */
+    private final List<StagingPost> skipped;
+
+    private StagingPostInsertResult(List<StagingPost> inserted, List<StagingPost> skipped) {
+        this.inserted = unmodifiableList(inserted);
+        this.skipped = unmodifiableList(skipped);
+    }
+
+    /**
+     * Creates a new StagingPostInsertResult instance from the given lists of inserted and skipped posts.
+     *
+     * @param inserted The staging posts that were inserted.
+     * @param skipped  The staging posts that were skipped.
+     * @return A new StagingPostInsertResult instance.
+     */
+    static StagingPostInsertResult from(List<StagingPost> inserted, List<StagingPost> skipped) {
+        return new StagingPostInsertResult(inserted, skipped);
+    }
+
+    /**
+     * Gets the staging posts that were inserted.
+     *
+     * @return An unmodifiable list of inserted staging posts.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPost> getInserted() {
+        return inserted;
+    }
+
+    /**
+     * Gets the staging posts that were skipped.
+     *
+     * @return An unmodifiable list of skipped staging posts.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPost> getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Gets the hashes of the staging posts that were inserted.
+     *
+     * @return A list of post hashes.
+     */
+    @SuppressWarnings("unused")
+    public final List<String> getInsertedHashes() {
+        return inserted.stream().map(StagingPost::getPostHash).toList();
+    }
+
+    /**
+     * Gets the hashes of the staging posts that were skipped.
+     *
+     * @return A list of post hashes.
+     */
+    @SuppressWarnings("unused")
+    public final List<String> getSkippedHashes() {
+        return skipped.stream().map(StagingPost::getPostHash).toList();
+    }
+
+    @Override
+    public final String toString() {
+        return "StagingPostInsertResult{" +
+                "insertedHashes=" + getInsertedHashes() +
+                ", skippedHashes=" + getSkippedHashes() +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package com.lostsidewalk.buffy.post;
+
+import java.util.Date;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The StagingPostPage class is a single page of a keyset-paginated staging post query.  Posts are ordered by
+ * (import_timestamp, id), descending; the cursor of the next page is the (import_timestamp, id) of the last post
+ * on this page.
+ *
+ * @see StagingPostDao#findByUser(String, Date, Long, int)
+ */
+public class StagingPostPage {
+
+    /**
+     * The staging posts on this page.
+     */
+    private final List<StagingPost> posts;
+
+    /**
+     * The import timestamp component of the cursor of the next page, or null if this is the last page.
+     */
+    private final Date nextImportTimestamp;
+
+    /**
+     * The ID component of the cursor of the next page, or null if this is the last page.
+     */
+    private final Long nextId;
+
+    private StagingPostPage(List<StagingPost> posts, Date nextImportTimestamp, Long nextId) {
+        this.posts = unmodifiableList(posts);
+        this.nextImportTimestamp = nextImportTimestamp;
+        this.nextId = nextId;
+    }
+
+    /**
+     * Creates a new StagingPostPage instance.
+     *
+     * @param posts               The staging posts on this page.
+     * @param nextImportTimestamp The import timestamp component of the cursor of the next page, or null.
+     * @param nextId              The ID component of the cursor of the next page, or null.
+     * @return A new StagingPostPage instance.
+     */
+    static StagingPostPage from(List<StagingPost> posts, Date nextImportTimestamp, Long nextId) {
+        return new StagingPostPage(posts, nextImportTimestamp, nextId);
+    }
+
+    /**
+     * Gets the staging posts on this page.
+     *
+     * @return An unmodifiable list of staging posts.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPost> getPosts() {
+        return posts;
+    }
+
+    /**
+     * Gets the import timestamp component of the cursor of the next page.
+     *
+     * @return The import timestamp to pass as afterImportTimestamp, or null if this is the last page.
+     */
+    @SuppressWarnings("unused")
+    public final Date getNextImportTimestamp() {
+        return nextImportTimestamp;
+    }
+
+    /**
+     * Gets the ID component of the cursor of the next page.
+     *
+     * @return The ID to pass as afterId, or null if this is the last page.
+     */
+    @SuppressWarnings("unused")
+    public final Long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Indicates whether there are more posts after this page.
+     *
+     * @return True if there is a next page.
+     */
+    @SuppressWarnings("unused")
+    public final boolean hasNext() {
+        return null != nextId;
+    }
+
+    @Override
+    public final String toString() {
+        return "StagingPostPage{" +
+                "postCt=" + posts.size() +
+                ", nextImportTimestamp=" + nextImportTimestamp +
+                ", nextId=" + nextId +
+                '}';
+    }
+}
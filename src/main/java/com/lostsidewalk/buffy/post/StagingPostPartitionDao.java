@@ -0,0 +1,279 @@
+package com.lostsidewalk.buffy.post;
+
+import com.lostsidewalk.buffy.DataAccessException;
+import com.lostsidewalk.buffy.queue.QueuePostStatsDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.time.ZoneOffset.UTC;
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Data access object for maintaining the partitions of the staging_posts table, when that table is partitioned by
+ * range on import_timestamp (see migrations/002-staging-posts-partitioned.sql.sample).  Partitions are monthly, in
+ * UTC, and are named staging_posts_pYYYYMM; rows that fall outside of every monthly partition (including rows
+ * without an import timestamp) land in the default partition, staging_posts_pdefault.
+ * <p>
+ * Retention is enforced by detaching (and optionally dropping) whole partitions, rather than by row-by-row deletes.
+ * If the staging_posts table is not partitioned, every method of this class is a no-op.
+ */
+@SuppressWarnings("OverlyBroadCatchBlock")
+@Slf4j
+@Component
+public class StagingPostPartitionDao {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    StagingPostHashCache hashCache;
+
+    @Autowired
+    QueuePostStatsDao queuePostStatsDao;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${newsgears.data.staging-posts.partition.months-ahead:3}")
+    int monthsAhead;
+
+    @Value("${newsgears.data.staging-posts.partition.retention-days:365}")
+    int retentionDays;
+
+    private static final String PARTITION_NAME_PREFIX = "staging_posts_p";
+
+    private static final Pattern PARTITION_NAME_PATTERN = Pattern.compile("^" + PARTITION_NAME_PREFIX + "(\\d{6})$");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /**
+     * Default constructor; initializes the object.
+     */
+    StagingPostPartitionDao() {
+    }
+
+    private static final String CHECK_PARTITIONED_SQL =
+            "select coalesce((select relkind = 'p' from pg_class where oid = to_regclass('staging_posts')), false)";
+
+    /**
+     * Checks whether the staging_posts table is partitioned.
+     *
+     * @return True if the staging_posts table is partitioned.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final boolean isPartitioned() throws DataAccessException {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(CHECK_PARTITIONED_SQL, Boolean.class));
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "isPartitioned", e.getMessage());
+        }
+    }
+
+    private static final String FIND_PARTITIONS_SQL = "select c.relname from pg_inherits i " +
+            "join pg_class c on c.oid = i.inhrelid " +
+            "where i.inhparent = to_regclass('staging_posts')";
+
+    /**
+     * Retrieves the names of the monthly partitions of the staging_posts table, in ascending order.  The default
+     * partition is not included.
+     *
+     * @return A list of partition names.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<String> findPartitions() throws DataAccessException {
+        try {
+            List<String> partitions = new ArrayList<>(jdbcTemplate.queryForList(FIND_PARTITIONS_SQL, String.class));
+            partitions.removeIf(p -> !PARTITION_NAME_PATTERN.matcher(p).matches());
+            Collections.sort(partitions);
+            return partitions;
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findPartitions", e.getMessage());
+        }
+    }
+
+    private static final String CREATE_PARTITION_SQL_TEMPLATE =
+            "create table if not exists %s partition of staging_posts for values from ('%s 00:00:00+00') to ('%s 00:00:00+00')";
+
+    //
+    // Postgres refuses to create a partition whose range matches rows of the default partition; such rows (e.g.,
+    // posts imported while the partition of their month was missing) are moved into the new partition instead: the
+    // partition is created as a standalone table, filled from the default partition, and then attached.  the rows are
+    // moved by writing to the tables directly, rather than to staging_posts, so that no trigger of staging_posts fires
+    // for them: the standalone table has no triggers, and a delete from the default partition does not fire the
+    // statement-level triggers of staging_posts (hash releases, queue_post_stats, tombstones)
+    //
+    private static final String DEFAULT_PARTITION_NAME = "staging_posts_pdefault";
+
+    private static final String CHECK_DEFAULT_PARTITION_ROWS_SQL_TEMPLATE =
+            "select exists (select 1 from " + DEFAULT_PARTITION_NAME + " where import_timestamp >= '%s 00:00:00+00' and import_timestamp < '%s 00:00:00+00')";
+
+    private static final String LOCK_STAGING_POSTS_SQL = "lock table staging_posts in share row exclusive mode";
+
+    private static final String CREATE_STANDALONE_PARTITION_SQL_TEMPLATE =
+            "create table %s (like staging_posts including defaults including constraints)";
+
+    private static final String COPY_DEFAULT_PARTITION_ROWS_SQL_TEMPLATE =
+            "insert into %s select * from " + DEFAULT_PARTITION_NAME + " where import_timestamp >= '%s 00:00:00+00' and import_timestamp < '%s 00:00:00+00'";
+
+    private static final String DELETE_DEFAULT_PARTITION_ROWS_SQL_TEMPLATE =
+            "delete from " + DEFAULT_PARTITION_NAME + " where import_timestamp >= '%s 00:00:00+00' and import_timestamp < '%s 00:00:00+00'";
+
+    private static final String ATTACH_PARTITION_SQL_TEMPLATE =
+            "alter table staging_posts attach partition %s for values from ('%s 00:00:00+00') to ('%s 00:00:00+00')";
+
+    /**
+     * Creates the monthly partitions of the staging_posts table for the current month, and for the configured number
+     * of months ahead (newsgears.data.staging-posts.partition.months-ahead), if they do not already exist.  Posts of
+     * the default partition that fall into the range of a new partition are moved into it, in the same transaction
+     * as its creation; writes to staging_posts are blocked while they are moved.
+     *
+     * @return A list of the names of the partitions that were created.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<String> createPartitions() throws DataAccessException {
+        if (!isPartitioned()) {
+            return new ArrayList<>(0);
+        }
+        Set<String> existing = new HashSet<>(findPartitions());
+        List<String> created = new ArrayList<>(monthsAhead + 1);
+        YearMonth month = YearMonth.now(UTC);
+        for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+            String partitionName = toPartitionName(month);
+            if (existing.contains(partitionName)) {
+                continue;
+            }
+            LocalDate from = month.atDay(1);
+            LocalDate to = month.plusMonths(1).atDay(1);
+            try {
+                boolean hasDefaultRows = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        String.format(CHECK_DEFAULT_PARTITION_ROWS_SQL_TEMPLATE, from, to), Boolean.class));
+                if (hasDefaultRows) {
+                    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                        jdbcTemplate.execute(LOCK_STAGING_POSTS_SQL);
+                        jdbcTemplate.execute(String.format(CREATE_STANDALONE_PARTITION_SQL_TEMPLATE, partitionName));
+                        int movedCt = jdbcTemplate.update(String.format(COPY_DEFAULT_PARTITION_ROWS_SQL_TEMPLATE, partitionName, from, to));
+                        jdbcTemplate.update(String.format(DELETE_DEFAULT_PARTITION_ROWS_SQL_TEMPLATE, from, to));
+                        jdbcTemplate.execute(String.format(ATTACH_PARTITION_SQL_TEMPLATE, partitionName, from, to));
+                        log.info("Moved staging posts out of the default partition, partitionName={}, movedCt={}", partitionName, movedCt);
+                    });
+                } else {
+                    jdbcTemplate.execute(String.format(CREATE_PARTITION_SQL_TEMPLATE, partitionName, from, to));
+                }
+            } catch (Exception e) {
+                log.error("Something horrible happened due to: {}", e.getMessage());
+                throw new DataAccessException(getClass().getSimpleName(), "createPartitions", e.getMessage(), partitionName);
+            }
+            log.info("Created staging post partition, partitionName={}", partitionName);
+            created.add(partitionName);
+        }
+
+        return created;
+    }
+
+    // detaching a partition does not fire trg_staging_posts_hashes_release; release the hashes of its posts explicitly
+    private static final String RELEASE_PARTITION_HASHES_SQL_TEMPLATE =
+            "delete from staging_post_hashes h using %s p where h.queue_id = p.queue_id and h.post_hash = p.post_hash";
+
+    private static final String DETACH_PARTITION_SQL_TEMPLATE = "alter table staging_posts detach partition %s";
+
+    private static final String DROP_PARTITION_SQL_TEMPLATE = "drop table if exists %s";
+
+    /**
+     * Detaches, and optionally drops, every monthly partition of the staging_posts table whose range ends on or
+     * before the given cutoff.  Detaching a partition briefly takes an exclusive lock on staging_posts, but does not
+     * touch any rows.  The post hashes of each partition are released (see staging_post_hashes) in the same
+     * transaction as its detachment, so that the posts it contains may be imported again.
+     *
+     * @param cutoff     The cutoff date; partitions that contain only posts imported before this date are removed.
+     * @param detachOnly If true, detached partitions are kept as standalone tables (e.g., for export); otherwise
+     *                   they are dropped.
+     * @return A list of the names of the partitions that were removed.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<String> dropPartitionsBefore(Date cutoff, boolean detachOnly) throws DataAccessException {
+        if (!isPartitioned()) {
+            return new ArrayList<>(0);
+        }
+        YearMonth cutoffMonth = YearMonth.from(cutoff.toInstant().atZone(UTC));
+        List<String> removed = new ArrayList<>();
+        for (String partitionName : findPartitions()) {
+            // a partition covers [month, month + 1); it is expired if month + 1 <= the month of the cutoff
+            YearMonth month = toPartitionMonth(partitionName);
+            if (null == month || month.plusMonths(1).isAfter(cutoffMonth)) {
+                continue;
+            }
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.update(String.format(RELEASE_PARTITION_HASHES_SQL_TEMPLATE, partitionName));
+                    jdbcTemplate.execute(String.format(DETACH_PARTITION_SQL_TEMPLATE, partitionName));
+                });
+                if (!detachOnly) {
+                    jdbcTemplate.execute(String.format(DROP_PARTITION_SQL_TEMPLATE, partitionName));
+                }
+            } catch (Exception e) {
+                log.error("Something horrible happened due to: {}", e.getMessage());
+                throw new DataAccessException(getClass().getSimpleName(), "dropPartitionsBefore", e.getMessage(), cutoff, detachOnly, partitionName);
+            }
+            log.info("Removed staging post partition, partitionName={}, detachOnly={}", partitionName, detachOnly);
+            removed.add(partitionName);
+        }
+        if (!removed.isEmpty()) {
+            // the hashes of the removed posts are still present in the hash cache
+            hashCache.invalidateAll();
+            // detaching a partition does not fire the triggers that maintain queue_post_stats
+            queuePostStatsDao.rebuildAll();
+        }
+
+        return removed;
+    }
+
+    /**
+     * Drops every monthly partition of the staging_posts table that is older than the configured retention period
+     * (newsgears.data.staging-posts.partition.retention-days).
+     *
+     * @return A list of the names of the partitions that were dropped.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<String> purgeExpiredPartitions() throws DataAccessException {
+        Date cutoff = Date.from(Instant.now().minus(retentionDays, DAYS));
+        return dropPartitionsBefore(cutoff, false);
+    }
+
+    private static String toPartitionName(YearMonth month) {
+        return PARTITION_NAME_PREFIX + PARTITION_SUFFIX_FORMATTER.format(month);
+    }
+
+    private static YearMonth toPartitionMonth(String partitionName) {
+        Matcher matcher = PARTITION_NAME_PATTERN.matcher(partitionName);
+        return matcher.matches() ? YearMonth.parse(matcher.group(1), PARTITION_SUFFIX_FORMATTER) : null;
+    }
+
+    @Override
+    public final String toString() {
+        return "StagingPostPartitionDao{" +
+                "jdbcTemplate=" + jdbcTemplate +
+                ", monthsAhead=" + monthsAhead +
+                ", retentionDays=" + retentionDays +
+                '}';
+    }
+}
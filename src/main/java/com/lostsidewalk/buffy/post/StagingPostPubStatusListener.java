@@ -0,0 +1,233 @@
+package com.lostsidewalk.buffy.post;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * An optional listener for staging post publication status changes.  StagingPostDao emits a notification on the
+ * staging_post_pub_status channel (with the queue ID as payload) whenever posts move into PUB_PENDING or
+ * DEPUB_PENDING; this component holds a dedicated connection that LISTENs on that channel, and delivers the IDs of
+ * the affected queues to its subscribers, debounced, i.e., notifications that arrive within the debounce window
+ * (newsgears.data.staging-posts.pub-notify.debounce-ms) are coalesced into a single set of queue IDs.
+ * <p>
+ * The listening connection is opened directly through the JDBC driver (with the spring.datasource.url, username, and
+ * password properties), rather than borrowed from the connection pool, since it is held for the lifetime of the
+ * listener; it is closed when the listener stops.
+ * <p>
+ * Notifications are not durable: those sent while the listener is disconnected are lost.  Subscribers should keep a
+ * (much less frequent) fallback poll.
+ * <p>
+ * The listener is disabled by default; enable it with newsgears.data.staging-posts.pub-notify.listener.enabled=true.
+ */
+@Slf4j
+@Component
+public class StagingPostPubStatusListener {
+
+    /**
+     * The name of the notification channel for publication status changes.
+     */
+    public static final String PUB_STATUS_CHANNEL = "staging_post_pub_status";
+
+    @Value("${spring.datasource.url:}")
+    String url;
+
+    @Value("${spring.datasource.username:}")
+    String username;
+
+    @Value("${spring.datasource.password:}")
+    String password;
+
+    @Value("${newsgears.data.staging-posts.pub-notify.listener.enabled:false}")
+    boolean enabled;
+
+    @Value("${newsgears.data.staging-posts.pub-notify.debounce-ms:250}")
+    long debounceMs;
+
+    @Value("${newsgears.data.staging-posts.pub-notify.reconnect-delay-ms:5000}")
+    long reconnectDelayMs;
+
+    private final List<Consumer<? super Set<Long>>> subscribers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+
+    private Thread listenerThread;
+
+    private volatile Connection listenerConnection;
+
+    /**
+     * Default constructor; initializes the object.
+     */
+    StagingPostPubStatusListener() {
+    }
+
+    /**
+     * Starts the listener thread, if the listener is enabled.
+     */
+    @SuppressWarnings("unused")
+    @PostConstruct
+    protected final void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "staging-post-pub-status-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        log.info("Started staging post publication status listener, channel={}, debounceMs={}", PUB_STATUS_CHANNEL, debounceMs);
+    }
+
+    /**
+     * Stops the listener thread.
+     */
+    @SuppressWarnings("unused")
+    @PreDestroy
+    protected final void stop() {
+        running = false;
+        if (null != listenerThread) {
+            listenerThread.interrupt();
+        }
+        // closing the connection also unblocks a pending getNotifications call
+        Connection conn = listenerConnection;
+        if (null != conn) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                log.warn("Unable to close staging post publication status listener connection due to: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the listener is enabled.
+     *
+     * @return True if the listener is enabled.
+     */
+    @SuppressWarnings("unused")
+    public final boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Subscribes to publication status changes.  The subscriber is invoked on the listener thread, with the IDs of
+     * the queues that contain posts that moved into PUB_PENDING or DEPUB_PENDING; it should hand off any heavy work.
+     *
+     * @param subscriber The subscriber.
+     */
+    @SuppressWarnings("unused")
+    public final void subscribe(Consumer<? super Set<Long>> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Unsubscribes from publication status changes.
+     *
+     * @param subscriber The subscriber.
+     */
+    @SuppressWarnings("unused")
+    public final void unsubscribe(Consumer<? super Set<Long>> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(url, username, password)) {
+                listenerConnection = conn;
+                conn.setAutoCommit(true); // LISTEN only takes effect once committed
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + PUB_STATUS_CHANNEL);
+                }
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                receive(pgConnection);
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.error("Staging post publication status listener failed due to: {}", e.getMessage());
+                listenerConnection = null;
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        log.info("Stopped staging post publication status listener");
+    }
+
+    private void receive(PGConnection pgConnection) throws SQLException {
+        Set<Long> pending = new HashSet<>();
+        long windowStartNanos = 0L;
+        while (running) {
+            // wait for the remainder of the debounce window if one is open, otherwise for up to one window; never pass
+            // zero, which waits indefinitely
+            long waitMs = pending.isEmpty() ? debounceMs : debounceMs - NANOSECONDS.toMillis(System.nanoTime() - windowStartNanos);
+            int timeoutMs = (int) Math.min(Integer.MAX_VALUE, Math.max(1L, waitMs));
+            PGNotification[] notifications = pgConnection.getNotifications(timeoutMs);
+            if (null != notifications) {
+                for (PGNotification notification : notifications) {
+                    Long queueId = parseQueueId(notification.getParameter());
+                    if (null != queueId) {
+                        if (pending.isEmpty()) {
+                            windowStartNanos = System.nanoTime();
+                        }
+                        pending.add(queueId);
+                    }
+                }
+            }
+            if (!pending.isEmpty() && System.nanoTime() - windowStartNanos >= MILLISECONDS.toNanos(debounceMs)) {
+                deliver(pending);
+                pending = new HashSet<>();
+            }
+        }
+    }
+
+    private void deliver(Set<Long> queueIds) {
+        log.debug("Delivering staging post publication status changes, queueIds={}", queueIds);
+        for (Consumer<? super Set<Long>> subscriber : subscribers) {
+            try {
+                subscriber.accept(queueIds);
+            } catch (RuntimeException e) {
+                log.error("Staging post publication status subscriber failed due to: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static Long parseQueueId(String payload) {
+        try {
+            return Long.valueOf(payload);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed staging post publication status notification, payload={}", payload);
+            return null;
+        }
+    }
+
+    @Override
+    public final String toString() {
+        return "StagingPostPubStatusListener{" +
+                "enabled=" + enabled +
+                ", debounceMs=" + debounceMs +
+                ", reconnectDelayMs=" + reconnectDelayMs +
+                ", subscribers=" + subscribers +
+                ", running=" + running +
+                '}';
+    }
+}
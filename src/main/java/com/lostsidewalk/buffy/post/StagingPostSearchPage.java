@@ -0,0 +1,96 @@
+package com.lostsidewalk.buffy.post;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The StagingPostSearchPage class is a single page of full-text staging post search results.  Posts are ordered by
+ * rank (descending), then by ID (descending); the cursor of the next page is an opaque token that encodes the
+ * (rank, id) of the last post on this page.
+ *
+ * @see StagingPostDao#search(String, String, List, int, String)
+ */
+public class StagingPostSearchPage {
+
+    /**
+     * The staging posts on this page, in rank order.
+     */
+    private final List<StagingPost> posts;
+
+    /**
+     * The rank of each staging post on this page, in the same order as the posts.
+     */
+    private final List<Float> ranks;
+
+    /**
+     * The cursor of the next page, or null if this is the last page.
+     */
+    private final String nextCursor;
+
+    private StagingPostSearchPage(List<StagingPost> posts, List<Float> ranks, String nextCursor) {
+        this.posts = unmodifiableList(posts);
+        this.ranks = unmodifiableList(ranks);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Creates a new StagingPostSearchPage instance.
+     *
+     * @param posts      The staging posts on this page, in rank order.
+     * @param ranks      The rank of each staging post on this page.
+     * @param nextCursor The cursor of the next page, or null.
+     * @return A new StagingPostSearchPage instance.
+     */
+    static StagingPostSearchPage from(List<StagingPost> posts, List<Float> ranks, String nextCursor) {
+        return new StagingPostSearchPage(posts, ranks, nextCursor);
+    }
+
+    /**
+     * Gets the staging posts on this page.
+     *
+     * @return An unmodifiable list of staging posts, in rank order.
+     */
+    @SuppressWarnings("unused")
+    public final List<StagingPost> getPosts() {
+        return posts;
+    }
+
+    /**
+     * Gets the rank of each staging post on this page.
+     *
+     * @return An unmodifiable list of ranks, in the same order as the posts.
+     */
+    @SuppressWarnings("unused")
+    public final List<Float> getRanks() {
+        return ranks;
+    }
+
+    /**
+     * Gets the cursor of the next page.
+     *
+     * @return The cursor to pass to the next search, or null if this is the last page.
+     */
+    @SuppressWarnings("unused")
+    public final String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Indicates whether there are more results after this page.
+     *
+     * @return True if there is a next page.
+     */
+    @SuppressWarnings("unused")
+    public final boolean hasNext() {
+        return null != nextCursor;
+    }
+
+    @Override
+    public final String toString() {
+        return "StagingPostSearchPage{" +
+                "postCt=" + posts.size() +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
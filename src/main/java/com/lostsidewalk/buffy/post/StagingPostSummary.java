@@ -0,0 +1,293 @@
+package com.lostsidewalk.buffy.post;
+
+import com.lostsidewalk.buffy.post.StagingPost.PostPubStatus;
+import com.lostsidewalk.buffy.post.StagingPost.PostReadStatus;
+
+import java.util.Date;
+
+/**
+ * The StagingPostSummary class is a lightweight projection of a staging post, for use in list views.  It carries
+ * only the identifying, display, timestamp and status attributes of the post; the heavy JSON attributes (contents,
+ * media, iTunes, enclosures, authors, contributors, etc.) are neither fetched nor decoded.
+ *
+ * @see StagingPostDao#findSummariesByUser(String)
+ */
+public class StagingPostSummary {
+
+    /**
+     * The ID of the staging post.
+     */
+    private final Long id;
+
+    /**
+     * The ID of the queue that contains the staging post.
+     */
+    private final Long queueId;
+
+    /**
+     * The ID of the subscription that imported the staging post.
+     */
+    private final Long subscriptionId;
+
+    /**
+     * The title of the staging post.
+     */
+    private final ContentObject postTitle;
+
+    /**
+     * The URL of the staging post.
+     */
+    private final String postUrl;
+
+    /**
+     * The image URL of the staging post.
+     */
+    private final String postImgUrl;
+
+    /**
+     * The transport identifier of the image of the staging post.
+     */
+    private final String postImgTransportIdent;
+
+    /**
+     * The timestamp at which the staging post was imported.
+     */
+    private final Date importTimestamp;
+
+    /**
+     * The timestamp at which the staging post was published (upstream).
+     */
+    private final Date publishTimestamp;
+
+    /**
+     * The timestamp at which the staging post was last updated (upstream).
+     */
+    private final Date lastUpdatedTimestamp;
+
+    /**
+     * The read status of the staging post.
+     */
+    private final PostReadStatus postReadStatus;
+
+    /**
+     * The publication status of the staging post.
+     */
+    private final PostPubStatus postPubStatus;
+
+    /**
+     * Indicates whether the staging post is published.
+     */
+    private final boolean isPublished;
+
+    /**
+     * Indicates whether the staging post is archived.
+     */
+    private final boolean isArchived;
+
+    private StagingPostSummary(Long id, Long queueId, Long subscriptionId, ContentObject postTitle, String postUrl,
+                               String postImgUrl, String postImgTransportIdent, Date importTimestamp,
+                               Date publishTimestamp, Date lastUpdatedTimestamp, PostReadStatus postReadStatus,
+                               PostPubStatus postPubStatus, boolean isPublished, boolean isArchived) {
+        this.id = id;
+        this.queueId = queueId;
+        this.subscriptionId = subscriptionId;
+        this.postTitle = postTitle;
+        this.postUrl = postUrl;
+        this.postImgUrl = postImgUrl;
+        this.postImgTransportIdent = postImgTransportIdent;
+        this.importTimestamp = importTimestamp;
+        this.publishTimestamp = publishTimestamp;
+        this.lastUpdatedTimestamp = lastUpdatedTimestamp;
+        this.postReadStatus = postReadStatus;
+        this.postPubStatus = postPubStatus;
+        this.isPublished = isPublished;
+        this.isArchived = isArchived;
+    }
+
+    /**
+     * Creates a new StagingPostSummary instance.
+     *
+     * @param id                    The ID of the staging post.
+     * @param queueId               The ID of the queue that contains the staging post.
+     * @param subscriptionId        The ID of the subscription that imported the staging post.
+     * @param postTitle             The title of the staging post.
+     * @param postUrl               The URL of the staging post.
+     * @param postImgUrl            The image URL of the staging post.
+     * @param postImgTransportIdent The transport identifier of the image of the staging post.
+     * @param importTimestamp       The timestamp at which the staging post was imported.
+     * @param publishTimestamp      The timestamp at which the staging post was published (upstream).
+     * @param lastUpdatedTimestamp  The timestamp at which the staging post was last updated (upstream).
+     * @param postReadStatus        The read status of the staging post.
+     * @param postPubStatus         The publication status of the staging post.
+     * @param isPublished           Indicates whether the staging post is published.
+     * @param isArchived            Indicates whether the staging post is archived.
+     * @return A new StagingPostSummary instance.
+     */
+    static StagingPostSummary from(Long id, Long queueId, Long subscriptionId, ContentObject postTitle, String postUrl,
+                                   String postImgUrl, String postImgTransportIdent, Date importTimestamp,
+                                   Date publishTimestamp, Date lastUpdatedTimestamp, PostReadStatus postReadStatus,
+                                   PostPubStatus postPubStatus, boolean isPublished, boolean isArchived) {
+        return new StagingPostSummary(id, queueId, subscriptionId, postTitle, postUrl, postImgUrl, postImgTransportIdent,
+                importTimestamp, publishTimestamp, lastUpdatedTimestamp, postReadStatus, postPubStatus, isPublished, isArchived);
+    }
+
+    /**
+     * Gets the ID of the staging post.
+     *
+     * @return The ID of the staging post.
+     */
+    @SuppressWarnings("unused")
+    public final Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the ID of the queue that contains the staging post.
+     *
+     * @return The queue ID.
+     */
+    @SuppressWarnings("unused")
+    public final Long getQueueId() {
+        return queueId;
+    }
+
+    /**
+     * Gets the ID of the subscription that imported the staging post.
+     *
+     * @return The subscription ID.
+     */
+    @SuppressWarnings("unused")
+    public final Long getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    /**
+     * Gets the title of the staging post.
+     *
+     * @return The post title.
+     */
+    @SuppressWarnings("unused")
+    public final ContentObject getPostTitle() {
+        return postTitle;
+    }
+
+    /**
+     * Gets the URL of the staging post.
+     *
+     * @return The post URL.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostUrl() {
+        return postUrl;
+    }
+
+    /**
+     * Gets the image URL of the staging post.
+     *
+     * @return The post image URL.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostImgUrl() {
+        return postImgUrl;
+    }
+
+    /**
+     * Gets the transport identifier of the image of the staging post.
+     *
+     * @return The post image transport identifier.
+     */
+    @SuppressWarnings("unused")
+    public final String getPostImgTransportIdent() {
+        return postImgTransportIdent;
+    }
+
+    /**
+     * Gets the timestamp at which the staging post was imported.
+     *
+     * @return The import timestamp.
+     */
+    @SuppressWarnings("unused")
+    public final Date getImportTimestamp() {
+        return importTimestamp;
+    }
+
+    /**
+     * Gets the timestamp at which the staging post was published (upstream).
+     *
+     * @return The publish timestamp.
+     */
+    @SuppressWarnings("unused")
+    public final Date getPublishTimestamp() {
+        return publishTimestamp;
+    }
+
+    /**
+     * Gets the timestamp at which the staging post was last updated (upstream).
+     *
+     * @return The last-updated timestamp.
+     */
+    @SuppressWarnings("unused")
+    public final Date getLastUpdatedTimestamp() {
+        return lastUpdatedTimestamp;
+    }
+
+    /**
+     * Gets the read status of the staging post.
+     *
+     * @return The post read status.
+     */
+    @SuppressWarnings("unused")
+    public final PostReadStatus getPostReadStatus() {
+        return postReadStatus;
+    }
+
+    /**
+     * Gets the publication status of the staging post.
+     *
+     * @return The post publication status.
+     */
+    @SuppressWarnings("unused")
+    public final PostPubStatus getPostPubStatus() {
+        return postPubStatus;
+    }
+
+    /**
+     * Indicates whether the staging post is published.
+     *
+     * @return True if the staging post is published.
+     */
+    @SuppressWarnings("unused")
+    public final boolean isPublished() {
+        return isPublished;
+    }
+
+    /**
+     * Indicates whether the staging post is archived.
+     *
+     * @return True if the staging post is archived.
+     */
+    @SuppressWarnings("unused")
+    public final boolean isArchived() {
+        return isArchived;
+    }
+
+    @Override
+    public final String toString() {
+        return "StagingPostSummary{" +
+                "id=" + id +
+                ", queueId=" + queueId +
+                ", subscriptionId=" + subscriptionId +
+                ", postTitle=" + postTitle +
+                ", postUrl='" + postUrl + '\'' +
+                ", postImgUrl='" + postImgUrl + '\'' +
+                ", postImgTransportIdent='" + postImgTransportIdent + '\'' +
+                ", importTimestamp=" + importTimestamp +
+                ", publishTimestamp=" + publishTimestamp +
+                ", lastUpdatedTimestamp=" + lastUpdatedTimestamp +
+                ", postReadStatus=" + postReadStatus +
+                ", postPubStatus=" + postPubStatus +
+                ", isPublished=" + isPublished +
+                ", isArchived=" + isArchived +
+                '}';
+    }
+}
@@ -0,0 +1,82 @@
+package com.lostsidewalk.buffy.post;
+
+import java.util.Date;
+
+/**
+ * The StagingPostTombstone class records the deletion of a staging post, so that clients that synchronize
+ * incrementally (see StagingPostDao#findChangedSince) learn of deletes.
+ */
+public class StagingPostTombstone {
+
+    /**
+     * The ID of the deleted staging post.
+     */
+    private final Long postId;
+
+    /**
+     * The ID of the queue that contained the deleted staging post.
+     */
+    private final Long queueId;
+
+    /**
+     * The timestamp at which the staging post was deleted.
+     */
+    private final Date deletedTimestamp;
+
+    private StagingPostTombstone(Long postId, Long queueId, Date deletedTimestamp) {
+        this.postId = postId;
+        this.queueId = queueId;
+        this.deletedTimestamp = deletedTimestamp;
+    }
+
+    /**
+     * Creates a new StagingPostTombstone instance.
+     *
+     * @param postId           The ID of the deleted staging post.
+     * @param queueId          The ID of the queue that contained the deleted staging post.
+     * @param deletedTimestamp The timestamp at which the staging post was deleted.
+     * @return A new StagingPostTombstone instance.
+     */
+    static StagingPostTombstone from(Long postId, Long queueId, Date deletedTimestamp) {
+        return new StagingPostTombstone(postId, queueId, deletedTimestamp);
+    }
+
+    /**
+     * Gets the ID of the deleted staging post.
+     *
+     * @return The post ID.
+     */
+    @SuppressWarnings("unused")
+    public final Long getPostId() {
+        return postId;
+    }
+
+    /**
+     * Gets the ID of the queue that contained the deleted staging post.
+     *
+     * @return The queue ID.
+     */
+    @SuppressWarnings("unused")
+    public final Long getQueueId() {
+        return queueId;
+    }
+
+    /**
+     * Gets the timestamp at which the staging post was deleted.
+     *
+     * @return The deleted timestamp.
+     */
+    @SuppressWarnings("unused")
+    public final Date getDeletedTimestamp() {
+        return deletedTimestamp;
+    }
+
+    @Override
+    public final String toString() {
+        return "StagingPostTombstone{" +
+                "postId=" + postId +
+                ", queueId=" + queueId +
+                ", deletedTimestamp=" + deletedTimestamp +
+                '}';
+    }
+}
@@ -0,0 +1,350 @@
+package com.lostsidewalk.buffy.queue;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * An optional, in-process read-through cache of the queue look-ups on the feed-serving path, i.e.,
+ * QueueDefinitionDao#findByTransportIdent and QueueDefinitionDao#requiresAuthentication, keyed by transport_ident, and
+ * of the queue ident/ID resolutions of the API layer (QueueDefinitionDao#resolveId, #resolveIdent and
+ * #resolveTransportIdent), keyed by username; the latter holds the (id, queue_ident, transport_ident) triples of all
+ * queues of a user, loaded in a single query.  Entries expire a fixed time after they are loaded (newsgears.data.queue-definitions.cache.ttl-seconds), and the
+ * least recently used entries are evicted beyond a fixed size (newsgears.data.queue-definitions.cache.max-size).
+ * <p>
+ * The write paths of QueueDefinitionDao invalidate the entries of a queue by ID on this node; when the "redis" profile
+ * is active, QueueDefinitionCacheRelay propagates invalidations to the other nodes of the fleet.  Without the relay,
+ * other nodes observe a change within the TTL.  Absent queues are not cached.
+ * <p>
+ * Queue definitions are cached as immutable snapshots of their rows; every hit builds a new QueueDefinition from the
+ * snapshot, thus callers never share an instance, and may modify the one they receive.
+ * <p>
+ * The cache is disabled by default; enable it with newsgears.data.queue-definitions.cache.enabled=true.
+ */
+@Slf4j
+@Component
+public class QueueDefinitionCache {
+
+    @Value("${newsgears.data.queue-definitions.cache.enabled:false}")
+    boolean enabled;
+
+    @Value("${newsgears.data.queue-definitions.cache.max-size:10000}")
+    long maxSize;
+
+    @Value("${newsgears.data.queue-definitions.cache.ttl-seconds:60}")
+    long ttlSeconds;
+
+    private Cache<String, DefinitionSnapshot> definitions;
+
+    private Cache<String, AuthRequirement> authRequirements;
+
+    private Cache<String, QueueResolutions> resolutions;
+
+    // incremented on every invalidation; loads that straddle an invalidation are discarded (see put)
+    private final AtomicLong invalidationCt = new AtomicLong();
+
+    private volatile Consumer<Long> invalidationPublisher;
+
+    /**
+     * Default constructor; initializes the object.
+     */
+    QueueDefinitionCache() {
+    }
+
+    static final class AuthRequirement {
+
+        final Long queueId;
+
+        final Boolean isAuthenticated;
+
+        AuthRequirement(Long queueId, Boolean isAuthenticated) {
+            this.queueId = queueId;
+            this.isAuthenticated = isAuthenticated;
+        }
+    }
+
+    static final class DefinitionSnapshot {
+
+        final Long id;
+
+        final String queueIdent;
+
+        final String queueTitle;
+
+        final String queueDesc;
+
+        final String queueFeedGenerator;
+
+        final String transportIdent;
+
+        final String username;
+
+        final QueueDefinition.QueueStatus queueStatus;
+
+        final String exportConfig;
+
+        final String copyright;
+
+        final String language;
+
+        final String queueImgSrc;
+
+        final String queueImgTransportIdent;
+
+        final Instant lastDeployedTimestamp; // timestamps are held as instants, as Timestamp is mutable
+
+        final Boolean isAuthenticated;
+
+        final Instant created;
+
+        final Instant lastModified;
+
+        @SuppressWarnings("ConstructorWithTooManyParameters")
+        DefinitionSnapshot(Long id, String queueIdent, String queueTitle, String queueDesc, String queueFeedGenerator,
+                           String transportIdent, String username, QueueDefinition.QueueStatus queueStatus, String exportConfig,
+                           String copyright, String language, String queueImgSrc, String queueImgTransportIdent,
+                           Timestamp lastDeployedTimestamp, Boolean isAuthenticated, Timestamp created, Timestamp lastModified) {
+            this.id = id;
+            this.queueIdent = queueIdent;
+            this.queueTitle = queueTitle;
+            this.queueDesc = queueDesc;
+            this.queueFeedGenerator = queueFeedGenerator;
+            this.transportIdent = transportIdent;
+            this.username = username;
+            this.queueStatus = queueStatus;
+            this.exportConfig = exportConfig;
+            this.copyright = copyright;
+            this.language = language;
+            this.queueImgSrc = queueImgSrc;
+            this.queueImgTransportIdent = queueImgTransportIdent;
+            this.lastDeployedTimestamp = null == lastDeployedTimestamp ? null : lastDeployedTimestamp.toInstant();
+            this.isAuthenticated = isAuthenticated;
+            this.created = null == created ? null : created.toInstant();
+            this.lastModified = null == lastModified ? null : lastModified.toInstant();
+        }
+
+        /**
+         * Builds a new QueueDefinition from this snapshot.
+         */
+        final QueueDefinition toQueueDefinition() {
+            QueueDefinition queueDefinition = QueueDefinition.from(
+                    queueIdent,
+                    queueTitle,
+                    queueDesc,
+                    queueFeedGenerator,
+                    transportIdent,
+                    username,
+                    queueStatus,
+                    exportConfig,
+                    copyright,
+                    language,
+                    queueImgSrc,
+                    queueImgTransportIdent,
+                    toTimestamp(lastDeployedTimestamp),
+                    isAuthenticated,
+                    toTimestamp(created),
+                    toTimestamp(lastModified)
+            );
+            queueDefinition.setId(id);
+
+            return queueDefinition;
+        }
+
+        private static Timestamp toTimestamp(Instant instant) {
+            return null == instant ? null : Timestamp.from(instant);
+        }
+    }
+
+    static final class QueueResolutions {
+
+        final Map<String, Long> idsByIdent = new HashMap<>();
+
+        final Map<Long, String> identsById = new HashMap<>();
+
+        final Map<Long, String> transportIdentsById = new HashMap<>();
+
+        final void add(Long id, String queueIdent, String transportIdent) {
+            idsByIdent.put(queueIdent, id);
+            identsById.put(id, queueIdent);
+            transportIdentsById.put(id, transportIdent);
+        }
+    }
+
+    /**
+     * Builds the caches.
+     */
+    @SuppressWarnings("unused")
+    @PostConstruct
+    protected final void init() {
+        definitions = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, SECONDS)
+                .build();
+        authRequirements = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, SECONDS)
+                .build();
+        resolutions = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, SECONDS)
+                .build();
+    }
+
+    /**
+     * Indicates whether the cache is enabled.
+     *
+     * @return True if the cache is enabled.
+     */
+    @SuppressWarnings("unused")
+    public final boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the function that propagates invalidations to other nodes (see QueueDefinitionCacheRelay).
+     *
+     * @param invalidationPublisher Accepts the ID of an invalidated queue, or null if all queues were invalidated.
+     */
+    final void setInvalidationPublisher(Consumer<Long> invalidationPublisher) {
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    /**
+     * Gets a stamp to pass to a subsequent put, taken before the load from the database.
+     */
+    final long stamp() {
+        return invalidationCt.get();
+    }
+
+    final QueueDefinition getDefinition(String transportIdent) {
+        DefinitionSnapshot snapshot = enabled ? definitions.getIfPresent(transportIdent) : null;
+        return null == snapshot ? null : snapshot.toQueueDefinition();
+    }
+
+    final void putDefinition(String transportIdent, DefinitionSnapshot snapshot, long stamp) {
+        if (enabled && null != snapshot) {
+            definitions.put(transportIdent, snapshot);
+            if (stamp != invalidationCt.get()) {
+                // an invalidation raced with the load; the loaded value may be stale
+                definitions.invalidate(transportIdent);
+            }
+        }
+    }
+
+    final AuthRequirement getAuthRequirement(String transportIdent) {
+        return enabled ? authRequirements.getIfPresent(transportIdent) : null;
+    }
+
+    final void putAuthRequirement(String transportIdent, AuthRequirement authRequirement, long stamp) {
+        if (enabled && null != authRequirement) {
+            authRequirements.put(transportIdent, authRequirement);
+            if (stamp != invalidationCt.get()) {
+                authRequirements.invalidate(transportIdent);
+            }
+        }
+    }
+
+    final QueueResolutions getResolutions(String username) {
+        return enabled ? resolutions.getIfPresent(username) : null;
+    }
+
+    final void putResolutions(String username, QueueResolutions queueResolutions, long stamp) {
+        if (enabled && null != queueResolutions) {
+            resolutions.put(username, queueResolutions);
+            if (stamp != invalidationCt.get()) {
+                resolutions.invalidate(username);
+            }
+        }
+    }
+
+    /**
+     * Invalidates the entries of a queue on this node, and on every other node if the relay is active.
+     *
+     * @param queueId The ID of the queue.
+     */
+    final void invalidate(Long queueId) {
+        if (enabled) {
+            invalidateLocal(queueId);
+            publish(queueId);
+        }
+    }
+
+    /**
+     * Invalidates the ident/ID resolutions of a user on this node only.  Used when a queue is added; this is not
+     * propagated, since a look-up of a queue that is absent from the cached resolutions falls back to the database.
+     *
+     * @param username The username of the user.
+     */
+    final void invalidateResolutions(String username) {
+        if (enabled) {
+            invalidationCt.incrementAndGet();
+            resolutions.invalidate(username);
+        }
+    }
+
+    /**
+     * Invalidates all entries on this node, and on every other node if the relay is active.
+     */
+    final void invalidateAll() {
+        if (enabled) {
+            invalidateAllLocal();
+            publish(null);
+        }
+    }
+
+    /**
+     * Invalidates the entries of a queue on this node only.
+     *
+     * @param queueId The ID of the queue.
+     */
+    final void invalidateLocal(Long queueId) {
+        invalidationCt.incrementAndGet();
+        // the caches are bounded, and writes are rare relative to reads, thus a scan is preferred to an ID index
+        definitions.asMap().values().removeIf(d -> queueId.equals(d.id));
+        authRequirements.asMap().values().removeIf(a -> queueId.equals(a.queueId));
+        resolutions.asMap().values().removeIf(r -> r.identsById.containsKey(queueId));
+    }
+
+    /**
+     * Invalidates all entries on this node only.
+     */
+    final void invalidateAllLocal() {
+        invalidationCt.incrementAndGet();
+        definitions.invalidateAll();
+        authRequirements.invalidateAll();
+        resolutions.invalidateAll();
+    }
+
+    private void publish(Long queueId) {
+        Consumer<Long> publisher = invalidationPublisher;
+        if (null != publisher) {
+            try {
+                publisher.accept(queueId);
+            } catch (RuntimeException e) {
+                log.warn("Unable to propagate queue definition cache invalidation due to: {}, queueId={}", e.getMessage(), queueId);
+            }
+        }
+    }
+
+    @Override
+    public final String toString() {
+        return "QueueDefinitionCache{" +
+                "enabled=" + enabled +
+                ", maxSize=" + maxSize +
+                ", ttlSeconds=" + ttlSeconds +
+                ", invalidationCt=" + invalidationCt +
+                '}';
+    }
+}
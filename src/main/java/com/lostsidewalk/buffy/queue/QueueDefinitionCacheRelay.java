@@ -0,0 +1,120 @@
+package com.lostsidewalk.buffy.queue;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Propagates QueueDefinitionCache invalidations across a fleet over a Redis pub/sub channel
+ * (newsgears.data.queue-definitions.cache.redis-channel).  Each node publishes the ID of every queue it invalidates
+ * (or "*" when it invalidates all queues), and evicts the entries of the queues invalidated by other nodes.
+ * <p>
+ * Pub/sub delivery is not durable: invalidations sent while a node is disconnected are lost, and that node observes
+ * the change within the cache TTL.  The relay is active when the "redis" profile is active and the cache is enabled.
+ */
+@Slf4j
+@Component
+@Profile("redis")
+public class QueueDefinitionCacheRelay {
+
+    private static final String ALL_QUEUES = "*";
+
+    @Autowired
+    RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    QueueDefinitionCache queueDefinitionCache;
+
+    @Value("${newsgears.data.queue-definitions.cache.redis-channel:newsgears:queue-definition-invalidations}")
+    String channel;
+
+    // identifies the messages published by this node, which are ignored on receipt
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * Default constructor; initializes the object.
+     */
+    QueueDefinitionCacheRelay() {
+    }
+
+    /**
+     * Subscribes to the invalidation channel, and registers this relay as the invalidation publisher of the cache.
+     */
+    @SuppressWarnings("unused")
+    @PostConstruct
+    protected final void start() {
+        if (!queueDefinitionCache.isEnabled()) {
+            return;
+        }
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        listenerContainer.addMessageListener((message, pattern) -> receive(message), new ChannelTopic(channel));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        queueDefinitionCache.setInvalidationPublisher(this::publish);
+        log.info("Started queue definition cache relay, channel={}, nodeId={}", channel, nodeId);
+    }
+
+    /**
+     * Unsubscribes from the invalidation channel.
+     */
+    @SuppressWarnings("unused")
+    @PreDestroy
+    protected final void stop() {
+        if (null != listenerContainer) {
+            queueDefinitionCache.setInvalidationPublisher(null);
+            try {
+                listenerContainer.destroy();
+            } catch (Exception e) {
+                log.warn("Unable to stop queue definition cache relay due to: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void publish(Long queueId) {
+        redisTemplate.convertAndSend(channel, nodeId + '/' + (null == queueId ? ALL_QUEUES : queueId.toString()));
+    }
+
+    private void receive(Message message) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        String payload = null == body ? null : body.toString();
+        int sepIdx = null == payload ? -1 : payload.indexOf('/');
+        if (0 > sepIdx) {
+            log.warn("Ignoring malformed queue definition cache invalidation, payload={}", payload);
+            return;
+        }
+        if (nodeId.equals(payload.substring(0, sepIdx))) {
+            return;
+        }
+        String target = payload.substring(sepIdx + 1);
+        if (ALL_QUEUES.equals(target)) {
+            queueDefinitionCache.invalidateAllLocal();
+        } else {
+            try {
+                queueDefinitionCache.invalidateLocal(Long.valueOf(target));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed queue definition cache invalidation, payload={}", payload);
+            }
+        }
+    }
+
+    @Override
+    public final String toString() {
+        return "QueueDefinitionCacheRelay{" +
+                "channel='" + channel + '\'' +
+                ", nodeId='" + nodeId + '\'' +
+                '}';
+    }
+}
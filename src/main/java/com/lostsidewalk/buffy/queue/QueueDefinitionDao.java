@@ -1,15 +1,20 @@
 package com.lostsidewalk.buffy.queue;
 
-import com.google.gson.Gson;
 import com.lostsidewalk.buffy.DataAccessException;
 import com.lostsidewalk.buffy.DataConflictException;
 import com.lostsidewalk.buffy.DataUpdateException;
+import com.lostsidewalk.buffy.JsonCodec;
+import com.lostsidewalk.buffy.SqlTemplateCache;
 import com.lostsidewalk.buffy.queue.QueueDefinition.QueueStatus;
+import com.lostsidewalk.buffy.queue.QueueDefinitionCache.AuthRequirement;
+import com.lostsidewalk.buffy.queue.QueueDefinitionCache.DefinitionSnapshot;
+import com.lostsidewalk.buffy.queue.QueueDefinitionCache.QueueResolutions;
 import lombok.extern.slf4j.Slf4j;
 import org.postgresql.util.PGobject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -40,19 +45,24 @@ import static java.util.Optional.ofNullable;
 @Component
 public class QueueDefinitionDao {
 
-    private static final Gson GSON = new Gson();
     private static final Pattern DIGITS_PATTERN = Pattern.compile("\\D");
 
     @Autowired
     JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    SqlTemplateCache sqlTemplateCache;
+
+    @Autowired
+    QueueDefinitionCache queueDefinitionCache;
+
     /**
      * Default constructor; initializes the object.
      */
     QueueDefinitionDao() {
     }
 
-    private static final String REQUIRES_AUTHENTICATION_BY_TRANSPORT_IDENT_SQL = "select is_authenticated from queue_definitions where transport_ident = ?";
+    private static final String REQUIRES_AUTHENTICATION_BY_TRANSPORT_IDENT_SQL = "select id, is_authenticated from queue_definitions where transport_ident = ?";
 
     /**
      * Checks to see if the queue definition with the given transport identifier requires authentication.
@@ -63,8 +73,16 @@ public class QueueDefinitionDao {
      */
     @SuppressWarnings("unused")
     public final Boolean requiresAuthentication(String transportIdent) throws DataAccessException {
+        AuthRequirement cached = queueDefinitionCache.getAuthRequirement(transportIdent);
+        if (null != cached) {
+            return cached.isAuthenticated;
+        }
         try {
-            return jdbcTemplate.queryForObject(REQUIRES_AUTHENTICATION_BY_TRANSPORT_IDENT_SQL, new Object[] { transportIdent }, Boolean.class);
+            long stamp = queueDefinitionCache.stamp();
+            AuthRequirement authRequirement = jdbcTemplate.queryForObject(REQUIRES_AUTHENTICATION_BY_TRANSPORT_IDENT_SQL,
+                    (rs, rowNum) -> new AuthRequirement(rs.getLong("id"), (Boolean) rs.getObject("is_authenticated")), transportIdent);
+            queueDefinitionCache.putAuthRequirement(transportIdent, authRequirement, stamp);
+            return null == authRequirement ? null : authRequirement.isAuthenticated;
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "requiresAuthentication", e.getMessage(), transportIdent);
@@ -136,7 +154,7 @@ public class QueueDefinitionDao {
                         ps.setString(5, queueDefinition.getTransportIdent());
                         ps.setString(6, queueDefinition.getUsername());
                         ps.setString(7, queueDefinition.getQueueStatus().toString());
-                        ps.setString(8, ofNullable(queueDefinition.getExportConfig()).map(GSON::toJson).orElse(null));
+                        ps.setString(8, ofNullable(queueDefinition.getExportConfig()).map(JsonCodec::toJson).orElse(null));
                         ps.setString(9, queueDefinition.getCopyright());
                         ps.setString(10, queueDefinition.getLanguage());
                         ps.setString(11, queueDefinition.getQueueImgSrc());
@@ -156,10 +174,12 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "add", queueDefinition);
         }
+        queueDefinitionCache.invalidateResolutions(queueDefinition.getUsername());
         return keyHolder.getKeyAs(Long.class);
     }
 
-    private final RowMapper<QueueDefinition> QUEUE_DEFINITION_ROW_MAPPER = (rs, rowNum) -> {
+    // rows are read into an immutable snapshot (which is what QueueDefinitionCache holds), then built into a QueueDefinition
+    private static final RowMapper<DefinitionSnapshot> QUEUE_DEFINITION_SNAPSHOT_ROW_MAPPER = (rs, rowNum) -> {
         Long id = rs.getLong("id");
         String queueIdent = rs.getString("queue_ident");
         String queueTitle = rs.getString("queue_title");
@@ -182,7 +202,8 @@ public class QueueDefinitionDao {
         Timestamp created = rs.getTimestamp("created");
         Timestamp lastModified = rs.getTimestamp("last_modified");
 
-        QueueDefinition queueDefinition = QueueDefinition.from(
+        return new DefinitionSnapshot(
+                id,
                 queueIdent,
                 queueTitle,
                 queueDesc,
@@ -200,11 +221,11 @@ public class QueueDefinitionDao {
                 created,
                 lastModified
         );
-        queueDefinition.setId(id);
-
-        return queueDefinition;
     };
 
+    private final RowMapper<QueueDefinition> QUEUE_DEFINITION_ROW_MAPPER = (rs, rowNum) ->
+            QUEUE_DEFINITION_SNAPSHOT_ROW_MAPPER.mapRow(rs, rowNum).toQueueDefinition();
+
     private static final String MARK_QUEUE_AS_DELETED_BY_ID_SQL = "update queue_definitions set is_deleted = true, last_modified = current_timestamp where id = ? and username = ?";
 
     /**
@@ -227,6 +248,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "deleteById", id);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String FIND_ALL_SQL = "select * from queue_definitions where is_deleted is false";
@@ -299,9 +321,16 @@ public class QueueDefinitionDao {
      */
     @SuppressWarnings("unused")
     public final QueueDefinition findByTransportIdent(String transportIdent) throws DataAccessException {
+        QueueDefinition cached = queueDefinitionCache.getDefinition(transportIdent);
+        if (null != cached) {
+            return cached;
+        }
         try {
-            List<QueueDefinition> results = jdbcTemplate.query(FIND_BY_TRANSPORT_IDENT_SQL, new Object[] { transportIdent }, QUEUE_DEFINITION_ROW_MAPPER);
-            return results.isEmpty() ? null : results.get(0);
+            long stamp = queueDefinitionCache.stamp();
+            List<DefinitionSnapshot> results = jdbcTemplate.query(FIND_BY_TRANSPORT_IDENT_SQL, new Object[] { transportIdent }, QUEUE_DEFINITION_SNAPSHOT_ROW_MAPPER);
+            DefinitionSnapshot snapshot = results.isEmpty() ? null : results.get(0);
+            queueDefinitionCache.putDefinition(transportIdent, snapshot, stamp);
+            return null == snapshot ? null : snapshot.toQueueDefinition();
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "findByTransportIdent", e.getMessage(), transportIdent);
@@ -321,6 +350,11 @@ public class QueueDefinitionDao {
     @SuppressWarnings("unused")
     public final String resolveTransportIdent(String username, String queueIdent) throws DataAccessException {
         try {
+            QueueResolutions resolutions = findResolutions(username);
+            Long id = null == resolutions ? null : resolutions.idsByIdent.get(queueIdent);
+            if (null != id) {
+                return resolutions.transportIdentsById.get(id);
+            }
             return jdbcTemplate.queryForObject(FIND_TRANSPORT_IDENT_SQL, new Object[] { username, queueIdent }, String.class);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
@@ -351,6 +385,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "updateLastDeployed", username, queueId, lastDeployed);
         }
+        queueDefinitionCache.invalidate(queueId);
     }
 
     private static final String CHECK_DEPLOYED_BY_ID_SQL_TEMPLATE = "select (last_deployed_timestamp is not null) from queue_definitions where id = %s and username = ? and is_deleted is false";
@@ -396,6 +431,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "clearLastDeployed", username, id);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String UPDATE_queue_status_BY_ID = "update queue_definitions set queue_status = ?, last_modified = current_timestamp where id = ? and username = ?";
@@ -421,9 +457,30 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "updateQueueStatus", username, id, queueStatus);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
-    private static final String UPDATE_BY_ID_SQL_TEMPLATE = "update queue_definitions set %s where id = ? and username = ?";
+    private static final String UPDATE_BY_ID_SQL_TEMPLATE = "update queue_definitions set %s, last_modified = current_timestamp where id = ? and username = ?";
+
+    // the columns of updateQueue, in bit (and argument) order
+    private static final List<String> UPDATE_COLUMNS = List.of(
+            "queue_ident", "queue_desc", "queue_title", "queue_feed_generator", "export_config", "copyright",
+            "language", "queue_img_src", "queue_img_transport_ident", "is_authenticated");
+
+    private static long updateBit(String column) {
+        return 1L << UPDATE_COLUMNS.indexOf(column);
+    }
+
+    private static String buildUpdateSql(long mask) {
+        Collection<String> assignments = new ArrayList<>(UPDATE_COLUMNS.size());
+        for (int i = 0; i < UPDATE_COLUMNS.size(); i++) {
+            if (0L != (mask & (1L << i))) {
+                String column = UPDATE_COLUMNS.get(i);
+                assignments.add("export_config".equals(column) ? column + " = ?::json" : column + " = ?");
+            }
+        }
+        return String.format(UPDATE_BY_ID_SQL_TEMPLATE, String.join(", ", assignments));
+    }
 
     /**
      * Updates various attributes of a specific queue by its username and identifier.
@@ -455,46 +512,46 @@ public class QueueDefinitionDao {
             // ignored
         }
 
-        StringBuilder sqlBuilder = new StringBuilder(512);
+        long updateMask = 0L;
         Collection<Object> sqlParams = new ArrayList<>(12);
         if (null != queueIdent) {
-            sqlBuilder.append("queue_ident = ?, ");
+            updateMask |= updateBit("queue_ident");
             sqlParams.add(queueIdent);
         }
         if (null != description) {
-            sqlBuilder.append("queue_desc = ?, ");
+            updateMask |= updateBit("queue_desc");
             sqlParams.add(description);
         }
         if (null != title) {
-            sqlBuilder.append("queue_title = ?, ");
+            updateMask |= updateBit("queue_title");
             sqlParams.add(title);
         }
         if (null != generator) {
-            sqlBuilder.append("queue_feed_generator = ?, ");
+            updateMask |= updateBit("queue_feed_generator");
             sqlParams.add(generator);
         }
         if (null != exportConfig) {
-            sqlBuilder.append("export_config = ?::json, ");
+            updateMask |= updateBit("export_config");
             sqlParams.add(exportConfig);
         }
         if (null != copyright) {
-            sqlBuilder.append("copyright = ?, ");
+            updateMask |= updateBit("copyright");
             sqlParams.add(copyright);
         }
         if (null != language) {
-            sqlBuilder.append("language = ?, ");
+            updateMask |= updateBit("language");
             sqlParams.add(language);
         }
         if (null != queueImgSrc) {
-            sqlBuilder.append("queue_img_src = ?, ");
+            updateMask |= updateBit("queue_img_src");
             sqlParams.add(queueImgSrc);
         }
         if (null != queueImgTransportIdent) {
-            sqlBuilder.append("queue_img_transport_ident = ?, ");
+            updateMask |= updateBit("queue_img_transport_ident");
             sqlParams.add(queueImgTransportIdent);
         }
         if (null != isAuthenticated) {
-            sqlBuilder.append("is_authenticated = ? ");
+            updateMask |= updateBit("is_authenticated");
             sqlParams.add(isAuthenticated);
         }
 
@@ -502,13 +559,13 @@ public class QueueDefinitionDao {
             return; // no updates required, return quietly
         }
 
-        sqlBuilder.append(", last_modified = current_timestamp ");
+        String updateSql = sqlTemplateCache.get("QueueDefinitionDao.updateQueue", updateMask, QueueDefinitionDao::buildUpdateSql);
         sqlParams.add(id);
         sqlParams.add(username);
 
         int rowsUpdated;
         try {
-            rowsUpdated = jdbcTemplate.update(String.format(UPDATE_BY_ID_SQL_TEMPLATE, sqlBuilder), sqlParams.toArray());
+            rowsUpdated = jdbcTemplate.update(updateSql, sqlParams.toArray());
         } catch (DuplicateKeyException e) {
             throw new DataConflictException(getClass().getSimpleName(), "updateQueue", e.getMessage(),
                     username, queueIdent, description, title, generator, exportConfig, copyright, language, queueImgSrc);
@@ -521,6 +578,7 @@ public class QueueDefinitionDao {
             throw new DataUpdateException(getClass().getSimpleName(), "updateQueue",
                     username, queueIdent, description, title, generator, exportConfig, copyright, language, queueImgSrc);
         }
+        queueDefinitionCache.invalidate(id);
     }
     
     //
@@ -553,6 +611,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "updateQueueIdent", username, id, queueIdent);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String UPDATE_QUEUE_TITLE_BY_ID = "update queue_definitions set queue_title = ?, last_modified = current_timestamp where id = ? and username = ?";
@@ -578,6 +637,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "updateQueueTitle", username, id, queueTitle);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String UPDATE_QUEUE_DESCRIPTION_BY_ID = "update queue_definitions set queue_desc = ?, last_modified = current_timestamp where id = ? and username = ?";
@@ -603,6 +663,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "updateQueueDescription", username, id, queueDescription);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String UPDATE_QUEUE_GENERATOR_BY_ID = "update queue_definitions set queue_feed_generator = ?, last_modified = current_timestamp where id = ? and username = ?";
@@ -628,6 +689,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "updateQueueGenerator", username, id, queueGenerator);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String UPDATE_QUEUE_COPYRIGHT_BY_ID = "update queue_definitions set copyright = ?, last_modified = current_timestamp where id = ? and username = ?";
@@ -653,6 +715,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "updateCopyright", username, id, copyright);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String UPDATE_LANGUAGE_BY_ID = "update queue_definitions set language = ?, last_modified = current_timestamp where id = ? and username = ?";
@@ -678,6 +741,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "updateLanguage", username, id, language);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String UPDATE_QUEUE_AUTH_REQUIREMENT_ID = "update queue_definitions set is_authenticated = ?, last_modified = current_timestamp where id = ? and username = ?";
@@ -703,6 +767,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "updateQueueAuthenticationRequirement", username, id, isRequired);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String UPDATE_QUEUE_IMAGE_SOURCE_BY_ID = "update queue_definitions set queue_img_src = ?, last_modified = current_timestamp where id = ? and username = ?";
@@ -728,6 +793,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "updateQueueImageSource", username, id, queueImageSource);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String UPDATE_QUEUE_EXPORT_CONFIG_BY_ID = "update queue_definitions set export_config = ?::json, last_modified = current_timestamp where id = ? and username = ?";
@@ -753,6 +819,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "updateQueueExportConfig", username, id, exportConfig.toString());
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String CLEAR_QUEUE_TITLE_BY_ID_SQL = "update queue_definitions set queue_title = null, last_modified = current_timestamp where id = ? and username = ?";
@@ -777,6 +844,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "clearQueueTitle", username, id);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String CLEAR_QUEUE_DESCRIPTION_BY_ID_SQL = "update queue_definitions set queue_desc = null, last_modified = current_timestamp where id = ? and username = ?";
@@ -801,6 +869,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "clearQueueDescription", username, id);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String CLEAR_QUEUE_GENERATOR_BY_ID_SQL = "update queue_definitions set queue_feed_generator = null, last_modified = current_timestamp where id = ? and username = ?";
@@ -825,6 +894,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "clearQueueGenerator", username, id);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String CLEAR_QUEUE_COPYRIGHT_BY_ID_SQL = "update queue_definitions set copyright = null, last_modified = current_timestamp where id = ? and username = ?";
@@ -849,6 +919,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "clearQueueCopyright", username, id);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String CLEAR_QUEUE_IMG_SRC_BY_ID_SQL = "update queue_definitions set queue_img_src = null, last_modified = current_timestamp where id = ? and username = ?";
@@ -873,6 +944,7 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "clearQueueImageSource", username, id);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     private static final String CLEAR_QUEUE_EXPORT_CONFIG_BY_ID_SQL = "update queue_definitions set export_config = null, last_modified = current_timestamp where id = ? and username = ?";
@@ -897,12 +969,35 @@ public class QueueDefinitionDao {
         if (!(0 < rowsUpdated)) {
             throw new DataUpdateException(getClass().getSimpleName(), "clearQueueImageSource", username, id);
         }
+        queueDefinitionCache.invalidate(id);
     }
 
     //
     //
     //
 
+    private static final String FIND_RESOLUTIONS_BY_USER_SQL = "select id, queue_ident, transport_ident from queue_definitions where username = ?";
+
+    /**
+     * Gets the ident/ID resolutions of all queues of a user from the cache, loading them in a single query on a miss.
+     * Returns null if the cache is disabled; look-ups of queues absent from the resolutions fall back to the database.
+     */
+    private QueueResolutions findResolutions(String username) {
+        if (!queueDefinitionCache.isEnabled()) {
+            return null;
+        }
+        QueueResolutions resolutions = queueDefinitionCache.getResolutions(username);
+        if (null == resolutions) {
+            long stamp = queueDefinitionCache.stamp();
+            QueueResolutions loaded = new QueueResolutions();
+            jdbcTemplate.query(FIND_RESOLUTIONS_BY_USER_SQL, (RowCallbackHandler) rs ->
+                    loaded.add(rs.getLong("id"), rs.getString("queue_ident"), rs.getString("transport_ident")), username);
+            queueDefinitionCache.putResolutions(username, loaded, stamp);
+            resolutions = loaded;
+        }
+        return resolutions;
+    }
+
     private static final String FIND_ID_SQL = "select id from queue_definitions where username = ? and queue_ident = ?";
 
     /**
@@ -916,6 +1011,11 @@ public class QueueDefinitionDao {
     @SuppressWarnings("unused")
     public final Long resolveId(String username, String queueIdent) throws DataAccessException {
         try {
+            QueueResolutions resolutions = findResolutions(username);
+            Long id = null == resolutions ? null : resolutions.idsByIdent.get(queueIdent);
+            if (null != id) {
+                return id;
+            }
             return jdbcTemplate.queryForObject(FIND_ID_SQL, new Object[] { username, queueIdent }, Long.class);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
@@ -936,6 +1036,11 @@ public class QueueDefinitionDao {
     @SuppressWarnings("unused")
     public final String resolveIdent(String username, Long queueId) throws DataAccessException {
         try {
+            QueueResolutions resolutions = findResolutions(username);
+            String queueIdent = null == resolutions ? null : resolutions.identsById.get(queueId);
+            if (null != queueIdent) {
+                return queueIdent;
+            }
             return jdbcTemplate.queryForObject(FIND_IDENT_SQL, new Object[] { username, queueId }, String.class);
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
@@ -975,6 +1080,9 @@ public class QueueDefinitionDao {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "purgeDeleted", e.getMessage());
         }
+        if (0 < rowsUpdated) {
+            queueDefinitionCache.invalidateAll();
+        }
 
         return rowsUpdated;
     }
@@ -983,6 +1091,8 @@ public class QueueDefinitionDao {
     public final String toString() {
         return "QueueDefinitionDao{" +
                 "jdbcTemplate=" + jdbcTemplate +
+                ", sqlTemplateCache=" + sqlTemplateCache +
+                ", queueDefinitionCache=" + queueDefinitionCache +
                 ", QUEUE_DEFINITION_ROW_MAPPER=" + QUEUE_DEFINITION_ROW_MAPPER +
                 '}';
     }
@@ -0,0 +1,214 @@
+package com.lostsidewalk.buffy.queue;
+
+import java.util.Date;
+
+/**
+ * The QueuePostStats class is a summary of the staging posts in a queue, read from the queue_post_stats table (a
+ * read model of staging_posts that is maintained incrementally by triggers).
+ *
+ * @see QueuePostStatsDao
+ */
+public class QueuePostStats {
+
+    /**
+     * The ID of the queue.
+     */
+    private final Long queueId;
+
+    /**
+     * The username of the owner of the queue.
+     */
+    private final String username;
+
+    /**
+     * The number of posts in the queue.
+     */
+    private final long postCt;
+
+    /**
+     * The number of posts in the queue that have not been read.
+     */
+    private final long unreadCt;
+
+    /**
+     * The number of posts in the queue that are published.
+     */
+    private final long publishedCt;
+
+    /**
+     * The number of posts in the queue that are archived.
+     */
+    private final long archivedCt;
+
+    /**
+     * The number of posts in the queue that are pending publication.
+     */
+    private final long pubPendingCt;
+
+    /**
+     * The number of posts in the queue that are pending de-publication.
+     */
+    private final long depubPendingCt;
+
+    /**
+     * The number of posts in the queue that are pending archival.
+     */
+    private final long archivePendingCt;
+
+    /**
+     * The most recent import timestamp of the posts in the queue.
+     */
+    private final Date latestImportTimestamp;
+
+    private QueuePostStats(Long queueId, String username, long postCt, long unreadCt, long publishedCt, long archivedCt,
+                           long pubPendingCt, long depubPendingCt, long archivePendingCt, Date latestImportTimestamp) {
+        this.queueId = queueId;
+        this.username = username;
+        this.postCt = postCt;
+        this.unreadCt = unreadCt;
+        this.publishedCt = publishedCt;
+        this.archivedCt = archivedCt;
+        this.pubPendingCt = pubPendingCt;
+        this.depubPendingCt = depubPendingCt;
+        this.archivePendingCt = archivePendingCt;
+        this.latestImportTimestamp = latestImportTimestamp;
+    }
+
+    /**
+     * Creates a new QueuePostStats instance.
+     *
+     * @param queueId               The ID of the queue.
+     * @param username              The username of the owner of the queue.
+     * @param postCt                The number of posts in the queue.
+     * @param unreadCt              The number of posts in the queue that have not been read.
+     * @param publishedCt           The number of posts in the queue that are published.
+     * @param archivedCt            The number of posts in the queue that are archived.
+     * @param pubPendingCt          The number of posts in the queue that are pending publication.
+     * @param depubPendingCt        The number of posts in the queue that are pending de-publication.
+     * @param archivePendingCt      The number of posts in the queue that are pending archival.
+     * @param latestImportTimestamp The most recent import timestamp of the posts in the queue.
+     * @return A new QueuePostStats instance.
+     */
+    static QueuePostStats from(Long queueId, String username, long postCt, long unreadCt, long publishedCt, long archivedCt,
+                               long pubPendingCt, long depubPendingCt, long archivePendingCt, Date latestImportTimestamp) {
+        return new QueuePostStats(queueId, username, postCt, unreadCt, publishedCt, archivedCt,
+                pubPendingCt, depubPendingCt, archivePendingCt, latestImportTimestamp);
+    }
+
+    /**
+     * Gets the ID of the queue.
+     *
+     * @return The queue ID.
+     */
+    @SuppressWarnings("unused")
+    public final Long getQueueId() {
+        return queueId;
+    }
+
+    /**
+     * Gets the username of the owner of the queue.
+     *
+     * @return The username.
+     */
+    @SuppressWarnings("unused")
+    public final String getUsername() {
+        return username;
+    }
+
+    /**
+     * Gets the number of posts in the queue.
+     *
+     * @return The post count.
+     */
+    @SuppressWarnings("unused")
+    public final long getPostCt() {
+        return postCt;
+    }
+
+    /**
+     * Gets the number of posts in the queue that have not been read.
+     *
+     * @return The unread post count.
+     */
+    @SuppressWarnings("unused")
+    public final long getUnreadCt() {
+        return unreadCt;
+    }
+
+    /**
+     * Gets the number of posts in the queue that are published.
+     *
+     * @return The published post count.
+     */
+    @SuppressWarnings("unused")
+    public final long getPublishedCt() {
+        return publishedCt;
+    }
+
+    /**
+     * Gets the number of posts in the queue that are archived.
+     *
+     * @return The archived post count.
+     */
+    @SuppressWarnings("unused")
+    public final long getArchivedCt() {
+        return archivedCt;
+    }
+
+    /**
+     * Gets the number of posts in the queue that are pending publication (PUB_PENDING).
+     *
+     * @return The pending publication count.
+     */
+    @SuppressWarnings("unused")
+    public final long getPubPendingCt() {
+        return pubPendingCt;
+    }
+
+    /**
+     * Gets the number of posts in the queue that are pending de-publication (DEPUB_PENDING).
+     *
+     * @return The pending de-publication count.
+     */
+    @SuppressWarnings("unused")
+    public final long getDepubPendingCt() {
+        return depubPendingCt;
+    }
+
+    /**
+     * Gets the number of posts in the queue that are pending archival (ARCHIVE).
+     *
+     * @return The pending archival count.
+     */
+    @SuppressWarnings("unused")
+    public final long getArchivePendingCt() {
+        return archivePendingCt;
+    }
+
+    /**
+     * Gets the most recent import timestamp of the posts in the queue.  This value only moves forward, i.e., it is
+     * not reset when the most recently imported post is deleted.
+     *
+     * @return The latest import timestamp, or null if no post with an import timestamp was ever added to the queue.
+     */
+    @SuppressWarnings("unused")
+    public final Date getLatestImportTimestamp() {
+        return latestImportTimestamp;
+    }
+
+    @Override
+    public final String toString() {
+        return "QueuePostStats{" +
+                "queueId=" + queueId +
+                ", username='" + username + '\'' +
+                ", postCt=" + postCt +
+                ", unreadCt=" + unreadCt +
+                ", publishedCt=" + publishedCt +
+                ", archivedCt=" + archivedCt +
+                ", pubPendingCt=" + pubPendingCt +
+                ", depubPendingCt=" + depubPendingCt +
+                ", archivePendingCt=" + archivePendingCt +
+                ", latestImportTimestamp=" + latestImportTimestamp +
+                '}';
+    }
+}
@@ -0,0 +1,265 @@
+package com.lostsidewalk.buffy.queue;
+
+import com.lostsidewalk.buffy.DataAccessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static com.lostsidewalk.buffy.SqlArrays.bigintArray;
+
+/**
+ * Data access object for the queue_post_stats table, a per-queue summary of staging_posts (post counts by status,
+ * unread count, published count, and latest import time).  The table is maintained incrementally by statement-level
+ * triggers on staging_posts (see schema.sql.sample), which append per-queue deltas to queue_post_stats_deltas rather
+ * than updating the stats row of the queue; fold sums the deltas into queue_post_stats, and should be run
+ * periodically.  Reads add in the deltas that are not yet folded, thus they are exact regardless of how often fold
+ * runs, and remain indexed look-ups rather than scans of staging_posts.
+ * <p>
+ * Changes that bypass the triggers (e.g., detaching or dropping partitions of staging_posts) leave the table stale;
+ * rebuild and rebuildAll recompute it from staging_posts.
+ */
+@SuppressWarnings({"deprecation", "OverlyBroadCatchBlock"})
+@Slf4j
+@Component
+public class QueuePostStatsDao {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${newsgears.data.queue-post-stats.fold-batch-size:10000}")
+    int foldBatchSize;
+
+    @Value("${newsgears.data.queue-post-stats.rebuild-batch-size:100}")
+    int rebuildBatchSize;
+
+    /**
+     * Default constructor; initializes the object.
+     */
+    QueuePostStatsDao() {
+    }
+
+    private final RowMapper<QueuePostStats> QUEUE_POST_STATS_ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp latestImportTimestamp = rs.getTimestamp("latest_import_timestamp");
+
+        return QueuePostStats.from(
+                rs.getLong("queue_id"),
+                rs.getString("username"),
+                rs.getLong("post_ct"),
+                rs.getLong("unread_ct"),
+                rs.getLong("published_ct"),
+                rs.getLong("archived_ct"),
+                rs.getLong("pub_pending_ct"),
+                rs.getLong("depub_pending_ct"),
+                rs.getLong("archive_pending_ct"),
+                latestImportTimestamp
+        );
+    };
+
+    // the stats row of each queue, plus its deltas that are not yet folded (deltas of deleted queues are ignored)
+    private static final String FIND_STATS_SQL_TEMPLATE =
+            "select queue_id, min(username) as username, sum(post_ct) as post_ct, sum(unread_ct) as unread_ct, " +
+            "  sum(published_ct) as published_ct, sum(archived_ct) as archived_ct, sum(pub_pending_ct) as pub_pending_ct, " +
+            "  sum(depub_pending_ct) as depub_pending_ct, sum(archive_pending_ct) as archive_pending_ct, " +
+            "  max(latest_import_timestamp) as latest_import_timestamp " +
+            "from (" +
+            "  select queue_id, username, post_ct, unread_ct, published_ct, archived_ct, pub_pending_ct, " +
+            "    depub_pending_ct, archive_pending_ct, latest_import_timestamp " +
+            "  from queue_post_stats where %1$s " +
+            "  union all " +
+            "  select queue_id, username, post_ct, unread_ct, published_ct, archived_ct, pub_pending_ct, " +
+            "    depub_pending_ct, archive_pending_ct, latest_import_timestamp " +
+            "  from queue_post_stats_deltas d where %1$s " +
+            "  and exists (select 1 from queue_definitions f where f.id = d.queue_id)" +
+            ") s " +
+            "group by queue_id order by queue_id";
+
+    private static final String FIND_BY_USER_SQL = String.format(FIND_STATS_SQL_TEMPLATE, "username = ?");
+
+    /**
+     * Retrieves the post stats of every queue of a specific user.  Queues to which no post was ever added have no
+     * stats.
+     *
+     * @param username The username of the user.
+     * @return A list of queue post stats.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final List<QueuePostStats> findByUser(String username) throws DataAccessException {
+        try {
+            return jdbcTemplate.query(FIND_BY_USER_SQL, QUEUE_POST_STATS_ROW_MAPPER, username, username);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findByUser", e.getMessage(), username);
+        }
+    }
+
+    private static final String FIND_BY_USER_AND_QUEUE_ID_SQL = String.format(FIND_STATS_SQL_TEMPLATE, "username = ? and queue_id = ?");
+
+    /**
+     * Retrieves the post stats of a queue given by ID.
+     *
+     * @param username The username of the user.
+     * @param queueId  The ID of the queue.
+     * @return The queue post stats, or null if no post was ever added to the queue.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final QueuePostStats findByQueueId(String username, Long queueId) throws DataAccessException {
+        try {
+            List<QueuePostStats> results = jdbcTemplate.query(FIND_BY_USER_AND_QUEUE_ID_SQL, QUEUE_POST_STATS_ROW_MAPPER, username, queueId, username, queueId);
+            return results.isEmpty() ? null : results.get(0);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "findByQueueId", e.getMessage(), username, queueId);
+        }
+    }
+
+    // folds the oldest deltas into queue_post_stats; stats rows are written in queue_id order, so that concurrent
+    // folds cannot deadlock (and skip the deltas that another fold has claimed).  deltas of deleted queues are dropped
+    private static final String FOLD_SQL =
+            "with folded as (" +
+            "  delete from queue_post_stats_deltas where id in (" +
+            "    select id from queue_post_stats_deltas order by id limit ? for update skip locked" +
+            "  ) returning *" +
+            "), merged as (" +
+            "  insert into queue_post_stats as q (queue_id, username, post_ct, unread_ct, published_ct, archived_ct, " +
+            "    pub_pending_ct, depub_pending_ct, archive_pending_ct, latest_import_timestamp) " +
+            "  select f.queue_id, min(f.username), sum(f.post_ct), sum(f.unread_ct), sum(f.published_ct), sum(f.archived_ct), " +
+            "    sum(f.pub_pending_ct), sum(f.depub_pending_ct), sum(f.archive_pending_ct), max(f.latest_import_timestamp) " +
+            "  from folded f " +
+            "  where exists (select 1 from queue_definitions qd where qd.id = f.queue_id) " +
+            "  group by f.queue_id " +
+            "  order by f.queue_id " +
+            "  on conflict (queue_id) do update set " +
+            "    post_ct = q.post_ct + excluded.post_ct, " +
+            "    unread_ct = q.unread_ct + excluded.unread_ct, " +
+            "    published_ct = q.published_ct + excluded.published_ct, " +
+            "    archived_ct = q.archived_ct + excluded.archived_ct, " +
+            "    pub_pending_ct = q.pub_pending_ct + excluded.pub_pending_ct, " +
+            "    depub_pending_ct = q.depub_pending_ct + excluded.depub_pending_ct, " +
+            "    archive_pending_ct = q.archive_pending_ct + excluded.archive_pending_ct, " +
+            "    latest_import_timestamp = greatest(q.latest_import_timestamp, excluded.latest_import_timestamp)" +
+            ") " +
+            "select count(*) from folded";
+
+    /**
+     * Folds pending deltas (written by the triggers on staging_posts) into queue_post_stats, in batches of the
+     * configured size (newsgears.data.queue-post-stats.fold-batch-size), until no deltas remain.  Each batch is a
+     * single statement.  This should be run periodically; reads are exact regardless, but their cost grows with the
+     * number of pending deltas.
+     *
+     * @return The number of deltas folded.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final long fold() throws DataAccessException {
+        int batchSize = Math.max(1, foldBatchSize);
+        long foldedCt = 0L;
+        try {
+            Integer batchCt;
+            do {
+                batchCt = jdbcTemplate.queryForObject(FOLD_SQL, Integer.class, batchSize);
+                foldedCt += null == batchCt ? 0 : batchCt;
+            } while (null != batchCt && batchCt >= batchSize);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "fold", e.getMessage());
+        }
+        log.debug("Queue post stats fold complete, foldedCt={}", foldedCt);
+
+        return foldedCt;
+    }
+
+    // recomputes the stats of the given queues, and discards their deltas, in a single statement (thus from a single
+    // snapshot: the discarded deltas are exactly those of the posts that are counted).  queues without posts get
+    // zeroed stats rows
+    private static final String REBUILD_BY_QUEUE_IDS_SQL =
+            "with purged as (" +
+            "  delete from queue_post_stats_deltas where queue_id = any(?)" +
+            ") " +
+            "insert into queue_post_stats as q (queue_id, username, post_ct, unread_ct, published_ct, archived_ct, " +
+            "  pub_pending_ct, depub_pending_ct, archive_pending_ct, latest_import_timestamp) " +
+            "select qd.id, qd.username, count(s.id), " +
+            "  count(s.id) filter (where s.post_read_status is distinct from 'READ'), " +
+            "  count(s.id) filter (where s.is_published), " +
+            "  count(s.id) filter (where s.is_archived), " +
+            "  count(s.id) filter (where s.post_pub_status = 'PUB_PENDING'), " +
+            "  count(s.id) filter (where s.post_pub_status = 'DEPUB_PENDING'), " +
+            "  count(s.id) filter (where s.post_pub_status = 'ARCHIVE'), " +
+            "  max(s.import_timestamp) " +
+            "from queue_definitions qd left join staging_posts s on s.queue_id = qd.id " +
+            "where qd.id = any(?) " +
+            "group by qd.id, qd.username " +
+            "order by qd.id " +
+            "on conflict (queue_id) do update set " +
+            "  post_ct = excluded.post_ct, " +
+            "  unread_ct = excluded.unread_ct, " +
+            "  published_ct = excluded.published_ct, " +
+            "  archived_ct = excluded.archived_ct, " +
+            "  pub_pending_ct = excluded.pub_pending_ct, " +
+            "  depub_pending_ct = excluded.depub_pending_ct, " +
+            "  archive_pending_ct = excluded.archive_pending_ct, " +
+            "  latest_import_timestamp = excluded.latest_import_timestamp";
+
+    /**
+     * Recomputes the post stats of a queue given by ID from staging_posts.
+     *
+     * @param queueId The ID of the queue.
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final void rebuild(Long queueId) throws DataAccessException {
+        try {
+            jdbcTemplate.update(REBUILD_BY_QUEUE_IDS_SQL, bigintArray(queueId), bigintArray(queueId));
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "rebuild", e.getMessage(), queueId);
+        }
+    }
+
+    private static final String FIND_QUEUE_IDS_AFTER_SQL = "select id from queue_definitions where id > ? order by id limit ?";
+
+    /**
+     * Recomputes the post stats of every queue from staging_posts.  Queues are rebuilt in chunks of the configured
+     * size (newsgears.data.queue-post-stats.rebuild-batch-size), in queue ID order, each chunk in its own statement;
+     * thus, only the stats rows of one chunk are locked at a time.  This is meant for maintenance (e.g., after
+     * partitions of staging_posts are dropped).
+     *
+     * @throws DataAccessException If an error occurs while accessing the data.
+     */
+    @SuppressWarnings("unused")
+    public final void rebuildAll() throws DataAccessException {
+        int batchSize = Math.max(1, rebuildBatchSize);
+        long afterId = 0L;
+        int queueCt = 0;
+        try {
+            List<Long> queueIds;
+            do {
+                queueIds = jdbcTemplate.queryForList(FIND_QUEUE_IDS_AFTER_SQL, Long.class, afterId, batchSize);
+                if (!queueIds.isEmpty()) {
+                    jdbcTemplate.update(REBUILD_BY_QUEUE_IDS_SQL, bigintArray(queueIds), bigintArray(queueIds));
+                    afterId = queueIds.get(queueIds.size() - 1);
+                    queueCt += queueIds.size();
+                }
+            } while (queueIds.size() >= batchSize);
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "rebuildAll", e.getMessage(), afterId);
+        }
+        log.info("Queue post stats rebuild complete, queueCt={}", queueCt);
+    }
+
+    @Override
+    public final String toString() {
+        return "QueuePostStatsDao{" +
+                "jdbcTemplate=" + jdbcTemplate +
+                ", QUEUE_POST_STATS_ROW_MAPPER=" + QUEUE_POST_STATS_ROW_MAPPER +
+                '}';
+    }
+}
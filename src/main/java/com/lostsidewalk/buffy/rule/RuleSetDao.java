@@ -1,7 +1,5 @@
 package com.lostsidewalk.buffy.rule;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.lostsidewalk.buffy.DataAccessException;
 import lombok.extern.slf4j.Slf4j;
 import org.postgresql.util.PGobject;
@@ -11,7 +9,6 @@ import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Type;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
@@ -19,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static com.lostsidewalk.buffy.JsonCodec.RULE_SET;
 import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static java.sql.Types.VARCHAR;
 import static org.apache.commons.lang3.ObjectUtils.isNotEmpty;
@@ -31,11 +29,6 @@ import static org.apache.commons.lang3.ObjectUtils.isNotEmpty;
 @Component
 public class RuleSetDao {
 
-    private static final Gson GSON = new Gson();
-
-    @SuppressWarnings({"EmptyClass", "AnonymousInnerClass"})
-    private static final Type SET_RULE_TYPE = new TypeToken<Set<Rule>>() {}.getType();
-
     @Autowired
     JdbcTemplate jdbcTemplate;
 
@@ -52,7 +45,7 @@ public class RuleSetDao {
         Set<Rule> rules = null;
         PGobject rulesObj = (PGobject) rs.getObject("rules");
         if (null != rulesObj) {
-            rules = GSON.fromJson(rulesObj.getValue(), SET_RULE_TYPE);
+            rules = RULE_SET.decode(rulesObj.getValue());
         }
 
         return RuleSet.from(id, username, ruleSetName, rules);
@@ -113,7 +106,7 @@ public class RuleSetDao {
                 Set<Rule> rules = null;
                 PGobject rulesObj = (PGobject) rs.getObject("rules");
                 if (null != rulesObj) {
-                    rules = GSON.fromJson(rulesObj.getValue(), SET_RULE_TYPE);
+                    rules = RULE_SET.decode(rulesObj.getValue());
                 }
 
                 resultMap.put(entityId, RuleSet.from(id, username, ruleSetName, rules));
@@ -6,24 +6,35 @@ import com.lostsidewalk.buffy.DataUpdateException;
 import lombok.extern.slf4j.Slf4j;
 import org.postgresql.util.PGobject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayListWithCapacity;
-import static java.util.Arrays.stream;
+import static com.google.common.collect.Lists.partition;
+import static com.lostsidewalk.buffy.SqlArrays.bigintArray;
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static java.util.Collections.nCopies;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.collections4.CollectionUtils.size;
-import static org.apache.commons.lang3.StringUtils.EMPTY;
 
 /**
  * Data access object for managing subscription definitions in the application.
@@ -33,10 +44,12 @@ import static org.apache.commons.lang3.StringUtils.EMPTY;
 @Component
 public class SubscriptionDefinitionDao {
 
-    private static final Pattern NON_DIGIT_OR_HYPHEN = Pattern.compile("[^\\d-]");
     @Autowired
     JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     /**
      * Default constructor; initializes the object.
      */
@@ -118,23 +131,166 @@ public class SubscriptionDefinitionDao {
     }
 
     /**
-     * Adds multiple subscription definitions to the database.
+     * The handling of rows of a batch insert that conflict with an existing subscription to the same URL in the same
+     * queue (i.e., on (queue_id, url)), or with an earlier row of the same batch.
+     */
+    public enum ConflictMode {
+        /**
+         * Conflicting rows are skipped; all other rows are inserted.
+         */
+        SKIP,
+        /**
+         * A conflicting row fails the entire batch; no rows are inserted.
+         */
+        FAIL
+    }
+
+    /**
+     * Adds multiple subscription definitions to the database, as by addAll with ConflictMode.FAIL, i.e., either all
+     * subscriptions are added, or none are.
      *
      * @param subscriptionDefinitions A list of subscription definitions to add.
-     * @return A list of IDs of the added subscriptions.
+     * @return A list of IDs of the added subscriptions, in input order.
      * @throws DataAccessException    If an error occurs while accessing the data.
      * @throws DataUpdateException    If the data update operation fails.
      * @throws DataConflictException  If a data conflict occurs due to duplicate keys.
      */
     @SuppressWarnings("unused")
     public final List<Long> add(Iterable<? extends SubscriptionDefinition> subscriptionDefinitions) throws DataAccessException, DataUpdateException, DataConflictException {
+        List<SubscriptionDefinition> definitions = newArrayListWithCapacity(size(subscriptionDefinitions));
+        subscriptionDefinitions.forEach(definitions::add);
+        return addAll(definitions, ConflictMode.FAIL).getIds();
+    }
+
+    // the conflict target is unique(queue_id, url), so that only a subscription to the same URL in the same queue is
+    // skipped (a row that duplicates an earlier row of the same batch is skipped as well), and any other constraint
+    // violation still fails the statement
+    private static final String INSERT_SUBSCRIPTION_DEFINITIONS_BATCH_SQL_TEMPLATE =
+            "insert into subscription_definitions (" +
+                    "queue_id," +
+                    "username," +
+                    "title," +
+                    "img_url," +
+                    "url," +
+                    "query_type," +
+                    "import_schedule," +
+                    "query_config" +
+                    ") values %s " +
+                    "on conflict (queue_id, url) do nothing " +
+                    "returning id, queue_id, url";
+
+    private static final String INSERT_SUBSCRIPTION_DEFINITION_VALUES = "(?,?,?,?,?,?,?,?::json)";
+
+    private static final int INSERT_SUBSCRIPTION_DEFINITION_PARAM_CT = 8;
+
+    // stay well clear of the 65535 bind parameter limit
+    private static final int MAX_INSERT_BATCH_SIZE = 1000;
+
+    @Value("${newsgears.data.subscriptions.insert-batch-size:100}")
+    int insertBatchSize;
+
+    /**
+     * Adds a collection of subscription definitions to the database using multi-row inserts, sent in chunks of the
+     * configured batch size (newsgears.data.subscriptions.insert-batch-size).  Rows that conflict with an existing
+     * subscription to the same URL in the same queue are either skipped (ConflictMode.SKIP), or fail the entire
+     * operation (ConflictMode.FAIL), in which case all chunks are rolled back.  The ID of each inserted subscription
+     * is set on the subscription.
+     *
+     * @param subscriptionDefinitions The subscription definitions to add.
+     * @param conflictMode            The handling of conflicting rows.
+     * @return The outcome of the operation, row by row.
+     * @throws DataAccessException   If an error occurs while accessing the data.
+     * @throws DataConflictException If a row conflicts with an existing subscription, and the conflict mode is FAIL.
+     */
+    @SuppressWarnings("unused")
+    public final SubscriptionInsertResult addAll(Collection<? extends SubscriptionDefinition> subscriptionDefinitions, ConflictMode conflictMode)
+            throws DataAccessException, DataConflictException {
+        List<SubscriptionDefinition> definitions = new ArrayList<>(subscriptionDefinitions);
+        List<Long> ids = new ArrayList<>(definitions.size());
+        int chunkSize = Math.max(1, Math.min(insertBatchSize, MAX_INSERT_BATCH_SIZE));
+        try {
+            if (ConflictMode.FAIL == conflictMode) {
+                // all chunks in a single transaction, which is rolled back on the first conflict
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    for (List<SubscriptionDefinition> chunk : partition(definitions, chunkSize)) {
+                        List<Long> chunkIds = insertChunk(chunk);
+                        ids.addAll(chunkIds);
+                        if (chunkIds.contains(null)) {
+                            status.setRollbackOnly();
+                            return;
+                        }
+                    }
+                });
+            } else {
+                for (List<SubscriptionDefinition> chunk : partition(definitions, chunkSize)) {
+                    ids.addAll(insertChunk(chunk));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "addAll", e.getMessage(), definitions.size(), conflictMode);
+        }
+        List<SubscriptionDefinition> inserted = new ArrayList<>(ids.size());
+        List<SubscriptionDefinition> skipped = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (null != id) {
+                inserted.add(definitions.get(i));
+            } else {
+                skipped.add(definitions.get(i));
+            }
+        }
+        if (ConflictMode.FAIL == conflictMode && !skipped.isEmpty()) {
+            throw new DataConflictException(getClass().getSimpleName(), "addAll", "Subscription already exists",
+                    skipped.stream().map(SubscriptionDefinition::getUrl).toArray());
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            if (null != ids.get(i)) {
+                definitions.get(i).setId(ids.get(i));
+            }
+        }
+        log.debug("Subscription batch insert complete, insertedCt={}, skippedCt={}", inserted.size(), skipped.size());
+
+        return SubscriptionInsertResult.from(ids, inserted, skipped);
+    }
 
-        List<Long> newIds = newArrayListWithCapacity(size(subscriptionDefinitions));
-        for (SubscriptionDefinition q : subscriptionDefinitions) {
-            newIds.add(add(q));
+    /**
+     * Inserts a chunk of subscription definitions in a single statement, and returns the ID of each, in input order,
+     * or null for each conflicting row.
+     */
+    private List<Long> insertChunk(List<? extends SubscriptionDefinition> chunk) {
+        String valueHolders = String.join(",", nCopies(chunk.size(), INSERT_SUBSCRIPTION_DEFINITION_VALUES));
+        String sql = String.format(INSERT_SUBSCRIPTION_DEFINITIONS_BATCH_SQL_TEMPLATE, valueHolders);
+        Map<String, Long> insertedIds = new HashMap<>(chunk.size());
+        jdbcTemplate.query(
+                conn -> {
+                    PreparedStatement ps = conn.prepareStatement(sql);
+                    int offset = 0;
+                    for (SubscriptionDefinition d : chunk) {
+                        ps.setLong(offset + 1, d.getQueueId());
+                        ps.setString(offset + 2, d.getUsername());
+                        ps.setString(offset + 3, d.getTitle());
+                        ps.setString(offset + 4, d.getImgUrl());
+                        ps.setString(offset + 5, d.getUrl());
+                        ps.setString(offset + 6, d.getQueryType());
+                        ps.setString(offset + 7, d.getImportSchedule());
+                        ps.setString(offset + 8, toQueryConfigJson(d));
+                        offset += INSERT_SUBSCRIPTION_DEFINITION_PARAM_CT;
+                    }
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> insertedIds.put(toQueueUrlKey(rs.getLong("queue_id"), rs.getString("url")), rs.getLong("id")));
+        List<Long> ids = new ArrayList<>(chunk.size());
+        for (SubscriptionDefinition d : chunk) {
+            // remove, so that a duplicate row later in the chunk is reported as skipped
+            ids.add(insertedIds.remove(toQueueUrlKey(d.getQueueId(), d.getUrl())));
         }
 
-        return newIds;
+        return ids;
+    }
+
+    private static String toQueueUrlKey(Long queueId, String url) {
+        return queueId + ":" + url;
     }
 
     private final RowMapper<SubscriptionDefinition> SUBSCRIPTION_DEFINITION_ROW_MAPPER = (rs, rowNum) -> {
@@ -192,25 +348,27 @@ public class SubscriptionDefinitionDao {
         }
     }
 
+    private static final String DELETE_BY_IDS_SQL = "delete from subscription_definitions where username = ? and id = any(?)";
+
     /**
-     * Deletes multiple subscription records by their IDs.
+     * Deletes multiple subscription records by their IDs for a specific user.
      *
-     * @param ids The list of IDs of the subscriptions to be deleted.
+     * @param username The username associated with the subscriptions.
+     * @param ids      The list of IDs of the subscriptions to be deleted.
      * @throws DataAccessException   If an error occurs while accessing the data.
      * @throws DataUpdateException   If the data update operation fails.
      */
     @SuppressWarnings("unused")
-    public final void deleteSubscriptions(List<Long> ids) throws DataAccessException, DataUpdateException {
+    public final void deleteSubscriptions(String username, List<Long> ids) throws DataAccessException, DataUpdateException {
         int rowsUpdated;
         try {
-            List<Object[]> args = ids.stream().map(id -> new Object[]{id}).collect(toList());
-            rowsUpdated = stream(jdbcTemplate.batchUpdate(DELETE_BY_ID_SQL, args)).sum();
+            rowsUpdated = jdbcTemplate.update(DELETE_BY_IDS_SQL, username, bigintArray(ids));
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
-            throw new DataAccessException(getClass().getSimpleName(), "deleteQueries", e.getMessage(), ids);
+            throw new DataAccessException(getClass().getSimpleName(), "deleteQueries", e.getMessage(), username, ids);
         }
         if (!(0 < rowsUpdated)) {
-            throw new DataUpdateException(getClass().getSimpleName(), "deleteQueries", ids);
+            throw new DataUpdateException(getClass().getSimpleName(), "deleteQueries", username, ids);
         }
     }
 
@@ -296,7 +454,7 @@ public class SubscriptionDefinitionDao {
         }
     }
 
-    private static final String FIND_BY_IDS_SQL_TEMPLATE = "select * from subscription_definitions where username = ? and id in (%s)";
+    private static final String FIND_BY_IDS_SQL = "select * from subscription_definitions where username = ? and id = any(?)";
 
     /**
      * Retrieves subscription definitions by their usernames and a list of IDs.
@@ -309,14 +467,7 @@ public class SubscriptionDefinitionDao {
     @SuppressWarnings("unused")
     public final List<SubscriptionDefinition> findByIds(String username, List<Long> ids) throws DataAccessException {
         try {
-            String inSql = ids.stream()
-                    .map(Object::toString)
-                    .map(s -> NON_DIGIT_OR_HYPHEN.matcher(s).replaceAll(EMPTY))
-                    .collect(joining(","));
-            return jdbcTemplate.query(
-                    String.format(FIND_BY_IDS_SQL_TEMPLATE, inSql),
-                    new Object[]{username},
-                    SUBSCRIPTION_DEFINITION_ROW_MAPPER);
+            return jdbcTemplate.query(FIND_BY_IDS_SQL, SUBSCRIPTION_DEFINITION_ROW_MAPPER, username, bigintArray(ids));
         } catch (Exception e) {
             log.error("Something horrible happened due to: {}", e.getMessage());
             throw new DataAccessException(getClass().getSimpleName(), "findByIds", e.getMessage(), username, ids);
@@ -428,20 +579,131 @@ public class SubscriptionDefinitionDao {
         }
     }
 
+    private static final String FIND_BY_QUEUE_ID_FOR_UPDATE_SQL = "select * from subscription_definitions where queue_id = ? for update";
+
+    private static final String DELETE_BY_QUEUE_ID_AND_IDS_SQL = "delete from subscription_definitions where queue_id = ? and id = any(?)";
+
+    private static final String UPDATE_BY_ID_SQL =
+            "update subscription_definitions set " +
+                    "username = ?, " +
+                    "title = ?, " +
+                    "img_url = ?, " +
+                    "query_type = ?, " +
+                    "import_schedule = ?, " +
+                    "query_config = ?::json " +
+                    "where id = ?";
+
     /**
-     * Replaces subscription definitions for a specific queue.
+     * Replaces the subscription definitions of a specific queue, in a single transaction.  The replacement is a diff
+     * by URL against the existing subscriptions of the queue: subscriptions whose URL is unchanged keep their ID (and
+     * thus their metrics and posts), and are updated only if their attributes changed; subscriptions whose URL is
+     * absent from the replacement are deleted; and subscriptions with a new URL are added.  Each kind of write is
+     * sent as a single batch, and replacing a queue with identical subscriptions performs no writes.
      *
      * @param queueId                  The ID of the queue to replace subscriptions for.
      * @param subscriptionDefinitions   A list of new SubscriptionDefinition objects.
-     * @return                         A list of IDs of the added subscriptions.
+     * @return                         A list of IDs of the subscriptions, in input order.
      * @throws DataAccessException     If an error occurs while accessing the data.
      * @throws DataUpdateException     If the data update operation fails.
-     * @throws DataConflictException   If a data conflict occurs due to duplicate keys.
+     * @throws DataConflictException   If the replacement contains more than one subscription to the same URL.
+     * @throws IllegalArgumentException If the queue ID is null, or a subscription belongs to a different queue.
      */
     @SuppressWarnings("unused")
     public final List<Long> replaceByQueueId(Long queueId, Iterable<? extends SubscriptionDefinition> subscriptionDefinitions) throws DataAccessException, DataUpdateException, DataConflictException {
-        deleteByQueueId(queueId);
-        return add(subscriptionDefinitions);
+        if (null == queueId) {
+            throw new IllegalArgumentException("Queue ID must not be null");
+        }
+        List<SubscriptionDefinition> definitions = newArrayListWithCapacity(size(subscriptionDefinitions));
+        subscriptionDefinitions.forEach(definitions::add);
+        Set<String> urls = new HashSet<>(definitions.size());
+        for (SubscriptionDefinition d : definitions) {
+            if (!queueId.equals(d.getQueueId())) {
+                throw new IllegalArgumentException("Subscription belongs to a different queue: queueId=" + queueId + ", subscriptionQueueId=" + d.getQueueId() + ", url=" + d.getUrl());
+            }
+            if (!urls.add(d.getUrl())) {
+                throw new DataConflictException(getClass().getSimpleName(), "replaceByQueueId", "Duplicate subscription URL", queueId, d.getUrl());
+            }
+        }
+        List<Long> ids = new ArrayList<>(definitions.size());
+        boolean conflicted;
+        try {
+            conflicted = TRUE.equals(new TransactionTemplate(transactionManager).execute(status -> {
+                // lock the existing subscriptions of the queue, so that concurrent replacements are serialized
+                Map<String, SubscriptionDefinition> existingByUrl = new HashMap<>();
+                for (SubscriptionDefinition e : jdbcTemplate.query(FIND_BY_QUEUE_ID_FOR_UPDATE_SQL, SUBSCRIPTION_DEFINITION_ROW_MAPPER, queueId)) {
+                    existingByUrl.put(e.getUrl(), e);
+                }
+                List<Object[]> updateArgs = new ArrayList<>();
+                List<SubscriptionDefinition> additions = new ArrayList<>();
+                for (SubscriptionDefinition d : definitions) {
+                    SubscriptionDefinition existing = existingByUrl.remove(d.getUrl());
+                    if (null == existing) {
+                        additions.add(d);
+                    } else if (!isUnchanged(existing, d)) {
+                        updateArgs.add(new Object[] {
+                                d.getUsername(),
+                                d.getTitle(),
+                                d.getImgUrl(),
+                                d.getQueryType(),
+                                d.getImportSchedule(),
+                                toQueryConfigJson(d),
+                                existing.getId()
+                        });
+                    }
+                    ids.add(null == existing ? null : existing.getId());
+                }
+                // the subscriptions that remain are absent from the replacement
+                if (!existingByUrl.isEmpty()) {
+                    jdbcTemplate.update(DELETE_BY_QUEUE_ID_AND_IDS_SQL, queueId, bigintArray(existingByUrl.values().stream().map(SubscriptionDefinition::getId).toList()));
+                }
+                if (!updateArgs.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_BY_ID_SQL, updateArgs);
+                }
+                if (!additions.isEmpty()) {
+                    int chunkSize = Math.max(1, Math.min(insertBatchSize, MAX_INSERT_BATCH_SIZE));
+                    List<Long> additionIds = new ArrayList<>(additions.size());
+                    for (List<SubscriptionDefinition> chunk : partition(additions, chunkSize)) {
+                        additionIds.addAll(insertChunk(chunk));
+                    }
+                    if (additionIds.contains(null)) {
+                        // a concurrent insert of the same URL into this queue
+                        status.setRollbackOnly();
+                        return TRUE;
+                    }
+                    int additionIdx = 0;
+                    for (int i = 0; i < ids.size(); i++) {
+                        if (null == ids.get(i)) {
+                            ids.set(i, additionIds.get(additionIdx++));
+                        }
+                    }
+                }
+                return FALSE;
+            }));
+        } catch (Exception e) {
+            log.error("Something horrible happened due to: {}", e.getMessage());
+            throw new DataAccessException(getClass().getSimpleName(), "replaceByQueueId", e.getMessage(), queueId, definitions.size());
+        }
+        if (conflicted) {
+            throw new DataConflictException(getClass().getSimpleName(), "replaceByQueueId", "Subscription already exists", queueId);
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            definitions.get(i).setId(ids.get(i));
+        }
+
+        return ids;
+    }
+
+    private static boolean isUnchanged(SubscriptionDefinition existing, SubscriptionDefinition replacement) {
+        return Objects.equals(existing.getUsername(), replacement.getUsername())
+                && Objects.equals(existing.getTitle(), replacement.getTitle())
+                && Objects.equals(existing.getImgUrl(), replacement.getImgUrl())
+                && Objects.equals(existing.getQueryType(), replacement.getQueryType())
+                && Objects.equals(existing.getImportSchedule(), replacement.getImportSchedule())
+                && Objects.equals(toQueryConfigJson(existing), toQueryConfigJson(replacement));
+    }
+
+    private static String toQueryConfigJson(SubscriptionDefinition subscriptionDefinition) {
+        return ofNullable(subscriptionDefinition.getQueryConfig()).map(Object::toString).orElse(null);
     }
 
     private static final String FIND_SUBSCRIPTION_URLS_BY_USERNAME = "select distinct url from subscription_definitions where username = ?";
@@ -0,0 +1,87 @@
+package com.lostsidewalk.buffy.subscription;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The SubscriptionInsertResult class describes the outcome of a batch insert of subscription definitions, row by row:
+ * the ID of each input row, in input order, is either the ID of the inserted subscription, or null if the row was
+ * skipped because a subscription to the same URL already exists in the queue (i.e., a conflict on (queue_id, url)).
+ *
+ * @see SubscriptionDefinitionDao#addAll(java.util.Collection, SubscriptionDefinitionDao.ConflictMode)
+ */
+public class SubscriptionInsertResult {
+
+    /**
+     * The ID of each input row, in input order, or null for each skipped row.
+     */
+    private final List<Long> ids;
+
+    /**
+     * The subscription definitions that were inserted; the ID of each subscription is set.
+     */
+    private final List<SubscriptionDefinition> inserted;
+
+    /**
+     * The subscription definitions that were skipped due to a conflict on (queue_id, url).
+     */
+    private final List<SubscriptionDefinition> skipped;
+
+    private SubscriptionInsertResult(List<Long> ids, List<SubscriptionDefinition> inserted, List<SubscriptionDefinition> skipped) {
+        this.ids = unmodifiableList(ids);
+        this.inserted = unmodifiableList(inserted);
+        this.skipped = unmodifiableList(skipped);
+    }
+
+    /**
+     * Creates a new SubscriptionInsertResult instance.
+     *
+     * @param ids      The ID of each input row, in input order, or null for each skipped row.
+     * @param inserted The subscription definitions that were inserted.
+     * @param skipped  The subscription definitions that were skipped.
+     * @return A new SubscriptionInsertResult instance.
+     */
+    static SubscriptionInsertResult from(List<Long> ids, List<SubscriptionDefinition> inserted, List<SubscriptionDefinition> skipped) {
+        return new SubscriptionInsertResult(ids, inserted, skipped);
+    }
+
+    /**
+     * Gets the ID of each input row, in input order.
+     *
+     * @return An unmodifiable list of IDs, containing null for each skipped row.
+     */
+    @SuppressWarnings("unused")
+    public final List<Long> getIds() {
+        return ids;
+    }
+
+    /**
+     * Gets the subscription definitions that were inserted.
+     *
+     * @return An unmodifiable list of inserted subscription definitions.
+     */
+    @SuppressWarnings("unused")
+    public final List<SubscriptionDefinition> getInserted() {
+        return inserted;
+    }
+
+    /**
+     * Gets the subscription definitions that were skipped.
+     *
+     * @return An unmodifiable list of skipped subscription definitions.
+     */
+    @SuppressWarnings("unused")
+    public final List<SubscriptionDefinition> getSkipped() {
+        return skipped;
+    }
+
+    @Override
+    public final String toString() {
+        return "SubscriptionInsertResult{" +
+                "ids=" + ids +
+                ", insertedCt=" + inserted.size() +
+                ", skippedCt=" + skipped.size() +
+                '}';
+    }
+}